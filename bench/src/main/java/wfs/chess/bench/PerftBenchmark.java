@@ -0,0 +1,74 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * JMH benchmark running perft on the standard positions to a
+ * fixed depth. Each invocation is one full tree; besides the
+ * trees/sec score, JMH reports the "nodes" counter as nodes
+ * per second. Node counts are checked on every run, so a
+ * faster but wrong generator cannot post a result.
+ *-----------------------------------------------------------*/
+package wfs.chess.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import wfs.chess.core.Perft;
+import wfs.chess.core.Position;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PerftBenchmark {
+    /*
+     * Name of the Perft.SUITE position to run.
+     */
+    @Param({"start", "kiwipete", "endgame", "promotions", "talkchess", "middlegame"})
+    public String name;
+
+    private Position position;
+    private Perft perft;
+    private int depth;
+    private long expected;
+
+    @Setup
+    public void setup() {
+        for (String[] test : Perft.SUITE) {
+            if (test[0].equals(name)) {
+                position = new Position(test[1]);
+                depth = Integer.parseInt(test[2]);
+                expected = Long.parseLong(test[3]);
+            }
+        }
+        if (position == null) {
+            throw new IllegalArgumentException("Unknown perft position: " + name);
+        }
+        perft = new Perft(depth);
+    }
+
+    /*
+     * Counter of nodes visited, reported by JMH as a rate next to the benchmark score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Nodes {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Benchmark
+    public long perft(Nodes counter) {
+        long nodes = perft.count(position, depth);
+        if (nodes != expected) {
+            throw new IllegalStateException(name + ": " + nodes + " nodes, expected " + expected);
+        }
+        counter.nodes += nodes;
+        return nodes;
+    }
+} // end PerftBenchmark class
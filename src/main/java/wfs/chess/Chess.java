@@ -5,18 +5,28 @@
  * A Java implementation of the classic game of chess. Most of 
  * the game functionality lies in the other classes, like Game, 
  * TitleScreen, Square, and Piece.
+ *
+ * Run with --uci to use the engine from a UCI chess GUI.
  *-----------------------------------------------------------*/
 package wfs.chess;
 
+import java.io.IOException;
+import wfs.chess.board.AsyncLog;
 import wfs.chess.board.TitleScreen;
+import wfs.chess.engine.Uci;
 
 public class Chess {
-    public static void main(String[] args) {
-        System.out.println("--=== Welcome to Chess! ===--");
+    public static void main(String[] args) throws IOException {
+        // Headless engine for chess GUIs and tournament managers, without any window
+        if (args.length > 0 && args[0].equals("--uci")) {
+            Uci.start();
+            return;
+        }
+        AsyncLog.log("--=== Welcome to Chess! ===--");
 
         TitleScreen title = new TitleScreen();
         title.setVisible(true);
 
-        System.out.println("Please select the turn length and the color of pieces you'd like to play with...");       
+        AsyncLog.log("Please select the turn length and the color of pieces you'd like to play with...");       
     }
 }
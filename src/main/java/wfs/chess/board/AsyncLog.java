@@ -0,0 +1,97 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Console log that never makes the caller wait. Messages are
+ * put in a bounded queue and a background thread writes them
+ * to System.out in batches, with one flush per batch, so the
+ * Event Dispatch Thread does not stall on a slow console. If
+ * the queue is full the message is dropped (and counted)
+ * rather than blocking; whatever is still queued when the
+ * program exits is written by a shutdown hook.
+ *-----------------------------------------------------------*/
+package wfs.chess.board;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class AsyncLog {
+    /*
+     * Most messages waiting to be written.
+     */
+    public static final int CAPACITY = 1024;
+
+    private static final BlockingQueue<String> QUEUE = new ArrayBlockingQueue<>(CAPACITY);
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final PrintStream OUT = System.out;
+
+    static {
+        Thread writer = new Thread(AsyncLog::drain, "log");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(AsyncLog::flush, "log-flush"));
+    }
+
+    private AsyncLog() {
+    }
+
+    /*
+     * log queues a message to be written on its own line, without waiting.
+     */
+    public static void log(String message) {
+        if (!QUEUE.offer(message)) {
+            DROPPED.incrementAndGet();
+        }
+    }
+
+    /*
+     * flush writes the messages queued so far, on the calling thread.
+     */
+    public static void flush() {
+        List<String> batch = new ArrayList<>();
+        QUEUE.drainTo(batch);
+        write(batch);
+    }
+
+    /*
+     * Helper function for the writer thread. Waits for a message, then writes it together
+     * with everything queued behind it.
+     */
+    private static void drain() {
+        List<String> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(QUEUE.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            QUEUE.drainTo(batch);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /*
+     * Helper function to write a batch with a single print and flush. Synchronized so the
+     * shutdown hook and the writer thread do not interleave their batches.
+     */
+    private static synchronized void write(List<String> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String message : batch) {
+            sb.append(message).append(System.lineSeparator());
+        }
+        long dropped = DROPPED.getAndSet(0);
+        if (dropped > 0) {
+            sb.append("(").append(dropped).append(" log messages dropped)").append(System.lineSeparator());
+        }
+        OUT.print(sb);
+        OUT.flush();
+    }
+} // end AsyncLog class
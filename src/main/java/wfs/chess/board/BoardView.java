@@ -0,0 +1,167 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Board view that paints the whole board and its pieces in
+ * one Swing component, straight from a headless Position,
+ * instead of 64 Square panels holding Piece labels. When the
+ * position changes, only the squares that differ from what is
+ * on screen are repainted, so many boards can be shown at
+ * once (e.g. a wall of games being watched) and stay smooth.
+ *
+ * Clicks are reported as Position square indices to an
+ * optional listener; the view itself never changes the game.
+ *-----------------------------------------------------------*/
+package wfs.chess.board;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.function.IntConsumer;
+import javax.swing.JComponent;
+import wfs.chess.core.Bitboard;
+import wfs.chess.core.Position;
+import wfs.chess.pieces.Sprites;
+
+public class BoardView extends JComponent {
+    /*
+     * Colors of the light and dark squares (as in Game) and of a highlighted square.
+     */
+    private static final Color LIGHT = new Color(255, 204, 153);
+    private static final Color DARK = new Color(153, 76, 10);
+    private static final Color HIGHLIGHT = new Color(255, 255, 0, 96);
+
+    private final int squareSize;
+    /*
+     * Piece code on each square as last painted, and the highlighted squares.
+     */
+    private final int[] shown = new int[64];
+    private long highlighted;
+    /*
+     * True when Black sits at the bottom of the board.
+     */
+    private boolean flipped;
+    private IntConsumer clickListener;
+
+    /*
+     * BoardView constructor. Shows the starting position with squares of the given size
+     * in pixels.
+     */
+    public BoardView(int squareSize) {
+        this.squareSize = squareSize;
+        setPreferredSize(new Dimension(squareSize * 8, squareSize * 8));
+        setOpaque(true);
+        setPosition(new Position());
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                int sq = squareAt(e.getX(), e.getY());
+                if (clickListener != null && sq != Bitboard.NO_SQUARE) {
+                    clickListener.accept(sq);
+                }
+            }
+        });
+    }
+
+    public BoardView() {
+        this(Square.SIZE);
+    }
+
+    /*
+     * setPosition shows the given position, repainting only the squares whose piece
+     * changed. The position is read right away and not kept.
+     */
+    public void setPosition(Position pos) {
+        for (int sq = 0; sq < 64; sq++) {
+            int pc = pos.pieceAt(sq);
+            if (pc != shown[sq]) {
+                shown[sq] = pc;
+                repaintSquare(sq);
+            }
+        }
+    }
+
+    /*
+     * setHighlighted marks the squares of the given bitboard, e.g. the last move or the
+     * moves of a selected piece, repainting only squares whose mark changed.
+     */
+    public void setHighlighted(long squares) {
+        long changed = highlighted ^ squares;
+        highlighted = squares;
+        while (changed != 0) {
+            repaintSquare(Long.numberOfTrailingZeros(changed));
+            changed &= changed - 1;
+        }
+    }
+
+    /*
+     * setFlipped puts Black (true) or White (false) at the bottom of the board.
+     */
+    public void setFlipped(boolean flipped) {
+        if (this.flipped != flipped) {
+            this.flipped = flipped;
+            repaint();
+        }
+    }
+
+    /*
+     * setClickListener sets who is told the square index of each mouse press, or null.
+     */
+    public void setClickListener(IntConsumer listener) {
+        clickListener = listener;
+    }
+
+    /*
+     * squareAt returns the square index under the given pixel, or Bitboard.NO_SQUARE.
+     */
+    public int squareAt(int x, int y) {
+        int col = x / squareSize, row = y / squareSize;
+        if (x < 0 || y < 0 || col > 7 || row > 7) {
+            return Bitboard.NO_SQUARE;
+        }
+        return flipped ? Bitboard.square(7 - col, row) : Bitboard.square(col, 7 - row);
+    }
+
+    /*
+     * Paints only the squares inside the clip, which is a single square for most repaints.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        int firstCol = Math.max(0, clip.x / squareSize);
+        int lastCol = Math.min(7, (clip.x + clip.width - 1) / squareSize);
+        int firstRow = Math.max(0, clip.y / squareSize);
+        int lastRow = Math.min(7, (clip.y + clip.height - 1) / squareSize);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int sq = flipped ? Bitboard.square(7 - col, row) : Bitboard.square(col, 7 - row);
+                int x = col * squareSize, y = row * squareSize;
+                g.setColor((row + col) % 2 == 0 ? LIGHT : DARK);
+                g.fillRect(x, y, squareSize, squareSize);
+                if ((highlighted & Bitboard.bit(sq)) != 0) {
+                    g.setColor(HIGHLIGHT);
+                    g.fillRect(x, y, squareSize, squareSize);
+                }
+                if (shown[sq] != Position.NO_PIECE) {
+                    Sprites.icon(shown[sq], squareSize).paintIcon(this, g, x, y);
+                }
+            }
+        }
+    }
+
+    /*
+     * Helper function to repaint a single square.
+     */
+    private void repaintSquare(int sq) {
+        int file = Bitboard.file(sq), rank = Bitboard.rank(sq);
+        int col = flipped ? 7 - file : file;
+        int row = flipped ? rank : 7 - rank;
+        repaint(col * squareSize, row * squareSize, squareSize, squareSize);
+    }
+} // end BoardView class
@@ -0,0 +1,61 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Evaluation bar shown next to the board. The white part of
+ * the bar grows with White's advantage: an even position fills
+ * half of it, and the share follows the usual logistic curve
+ * from centipawns to expected score, so a few pawns up already
+ * shows as nearly winning. The side of the player sits at the
+ * bottom, as on the board.
+ *-----------------------------------------------------------*/
+package wfs.chess.board;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import javax.swing.JComponent;
+
+public class EvalBar extends JComponent {
+    /*
+     * Width of the bar in pixels.
+     */
+    public static final int WIDTH = 16;
+
+    private final boolean whiteAtBottom;
+    private int score;
+
+    /*
+     * EvalBar constructor. Takes the height of the bar in pixels and which color sits at
+     * the bottom of the board.
+     */
+    public EvalBar(int height, boolean whiteAtBottom) {
+        this.whiteAtBottom = whiteAtBottom;
+        setPreferredSize(new Dimension(WIDTH, height));
+        setScore(0);
+    }
+
+    /*
+     * setScore shows the given evaluation, in centipawns from White's point of view.
+     */
+    public void setScore(int score) {
+        this.score = score;
+        setToolTipText(String.format("%+.2f", score / 100.0));
+        repaint();
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int height = getHeight();
+        double whiteShare = 1 / (1 + Math.pow(10, -score / 400.0));
+        int white = (int) Math.round(height * whiteShare);
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, getWidth(), height);
+        g.setColor(Color.WHITE);
+        g.fillRect(0, whiteAtBottom ? height - white : 0, getWidth(), white);
+    }
+} // end EvalBar class
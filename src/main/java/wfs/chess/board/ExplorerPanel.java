@@ -0,0 +1,104 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Opening explorer panel shown next to the board: the moves
+ * played from the current position in the games of the
+ * OpeningExplorer, the most played first, with how often,
+ * how the games ended and the average rating of the players
+ * who chose them.
+ *-----------------------------------------------------------*/
+package wfs.chess.board;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.table.AbstractTableModel;
+import wfs.chess.db.MoveStats;
+
+public class ExplorerPanel extends JPanel {
+    /*
+     * Width of the panel in pixels.
+     */
+    public static final int WIDTH = 300;
+    private static final String[] COLUMNS = {"Move", "Games", "White", "Draw", "Black", "Rating"};
+
+    private final StatsModel model = new StatsModel();
+    private final JLabel title = new JLabel("Opening explorer");
+
+    /*
+     * ExplorerPanel constructor. Takes the height of the panel in pixels.
+     */
+    public ExplorerPanel(int height) {
+        super(new BorderLayout());
+        setPreferredSize(new Dimension(WIDTH, height));
+        title.setForeground(Color.WHITE);
+        setOpaque(false);
+        JTable table = new JTable(model);
+        table.setFocusable(false);
+        table.setRowSelectionAllowed(false);
+        table.getTableHeader().setReorderingAllowed(false);
+        add(title, BorderLayout.NORTH);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+    }
+
+    /*
+     * setStats shows the statistics of the moves of a new position.
+     */
+    public void setStats(List<MoveStats> stats) {
+        model.stats = (stats == null) ? Collections.emptyList() : stats;
+        int games = 0;
+        for (MoveStats s : model.stats) {
+            games += s.getGames();
+        }
+        title.setText(games == 0 ? "Opening explorer: no games" : "Opening explorer: " + games + " games");
+        model.fireTableDataChanged();
+    }
+
+    /*
+     * StatsModel class lays the statistics out as table rows.
+     */
+    private static final class StatsModel extends AbstractTableModel {
+        private List<MoveStats> stats = Collections.emptyList();
+
+        @Override
+        public int getRowCount() {
+            return stats.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            MoveStats s = stats.get(row);
+            switch (column) {
+                case 0:
+                    return s.getSan();
+                case 1:
+                    return s.getGames();
+                case 2:
+                    return s.percent(s.getWhiteWins()) + "%";
+                case 3:
+                    return s.percent(s.getDraws()) + "%";
+                case 4:
+                    return s.percent(s.getBlackWins()) + "%";
+                default:
+                    return s.getAverageRating() == 0 ? "" : s.getAverageRating();
+            }
+        }
+    } // end StatsModel class
+} // end ExplorerPanel class
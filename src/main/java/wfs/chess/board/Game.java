@@ -28,26 +28,59 @@
  * Displays chess board and pieces, while also implementing piece 
  * moving functionality with custom MouseListener class 'MoveListener.'
  * User can click (not drag) from square to square to move pieces.
- * Game is won either when a player is in checkmate (not yet 
- * implemented) or when a player runs out of time.
+ * Game is won either when a player is in checkmate or when a 
+ * player runs out of time, and drawn on stalemate or when 
+ * neither side has enough material left to checkmate.
+ *
+ * Clicks are handled on the Event Dispatch Thread, but checking
+ * a move and working out what it leads to (check, mate, the
+ * evaluation, the computer's reply) happens on a background
+ * move thread, which posts the result back to be shown.
  *-----------------------------------------------------------*/
 package wfs.chess.board;
+import wfs.chess.core.Bitboard;
+import wfs.chess.core.GameClock;
+import wfs.chess.core.GameStatus;
+import wfs.chess.core.Move;
+import wfs.chess.core.MoveGenerator;
+import wfs.chess.core.Position;
+import wfs.chess.db.Bitbases;
+import wfs.chess.db.MoveStats;
+import wfs.chess.db.OpeningExplorer;
+import wfs.chess.db.PolyglotBook;
+import wfs.chess.db.PolyglotKey;
+import wfs.chess.engine.Evaluator;
+import wfs.chess.engine.ParallelSearch;
+import wfs.chess.engine.Search;
+import wfs.chess.engine.StaticExchange;
+import wfs.chess.engine.TimeManager;
 import wfs.chess.pieces.*;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class Game extends JFrame {
     /*
      * Size of the chess board. A traditional board is 8x8.
      */
     private final int BOARD_SIZE = 8;
+    /*
+     * How often the clock display is refreshed, in milliseconds. Only the display: the
+     * clocks themselves keep exact time.
+     */
+    private static final int CLOCK_REFRESH_MS = 100;
+    /*
+     * Size of the King shown on the game over screen, in pixels.
+     */
+    public static final int WIN_ICON_SIZE = 100;
     /*
      * Action listener to detect user input for in-game moves. 
      */
@@ -60,7 +93,7 @@ public class Game extends JFrame {
     /*
      * Keep track of the game status. 
      */
-    private boolean gameOver = false;
+    private volatile boolean gameOver = false;
     /*
      * Panels to display a win for white and for black.
      */
@@ -68,6 +101,10 @@ public class Game extends JFrame {
     private JPanel blackWin;
     private JLabel whiteWinLabel;
     private JLabel blackWinLabel; 
+    /*
+     * Panel to display a draw.
+     */
+    private JPanel drawPanel;
     /*
      * Array to hold the squares on the board. Note: the squares appear from top to bottom.
      * So squares[0][0] is the upper left corner of the board and squares[7][7] is the
@@ -79,10 +116,10 @@ public class Game extends JFrame {
      */
     private JPanel boardPanel;
     /*
-     * Timers for both players.
+     * Clock of both players, and the Swing timer that refreshes its display.
      */
-    private Timer whiteTimer;
-    private Timer blackTimer;
+    private GameClock clock;
+    private Timer clockRefresh;
     /* 
      * Swing components for the timers.
      */
@@ -97,6 +134,20 @@ public class Game extends JFrame {
     private JPanel northBorder;
     private JPanel eastBorder;
     private JPanel westBorder;
+    /*
+     * Evaluation bar, shown in the east border.
+     */
+    private EvalBar evalBar;
+    /*
+     * Opening explorer shown next to the board, or null if there is no explorer file.
+     */
+    private OpeningExplorer explorer;
+    private ExplorerPanel explorerPanel;
+    /*
+     * Check box to outline hanging pieces, and the squares outlined now.
+     */
+    private JCheckBox hangingCheckBox;
+    private long hangingShown;
     /*
      * Array to hold the names of each file on the board.
      */
@@ -106,10 +157,54 @@ public class Game extends JFrame {
      */
     private char rows[] = {'8', '7', '6', '5', '4', '3', '2', '1'};
     /*
-     * ArrayList to hold the pieces on the board. Note: first row of array contains the 
-     * black pieces, second row contains the white pieces. 
+     * Pieces on the board, by side and by square index.
      */
-    private ArrayList<Piece> pieces = new ArrayList<>();
+    private PieceList pieces = new PieceList();
+    /*
+     * Parallel search used by the computer opponent, or null in a game between two players.
+     */
+    private ParallelSearch engine;
+    /*
+     * Opening book the computer plays from, or null if there is no book file.
+     */
+    private PolyglotBook book;
+    private final Random bookRandom = new Random();
+    /*
+     * Headless position the board is rendered from. Every move made on the board is
+     * also played here, so the rules can be checked without touching Swing components.
+     */
+    private Position position = new Position();
+    /*
+     * Buffer for the legal moves of the current position.
+     */
+    private int[] legalMoves = new int[MoveGenerator.MAX_MOVES];
+    /*
+     * Background thread that owns the headless position once the game has started: it
+     * checks and plays moves and works out what they lead to. Only the Swing components
+     * are touched on the Event Dispatch Thread.
+     */
+    private final ExecutorService moveThread = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "moves");
+        t.setDaemon(true);
+        return t;
+    });
+    /*
+     * What the last move led to, for any thread to read.
+     */
+    private volatile MoveResult lastResult;
+    /*
+     * Whether hanging pieces are outlined, read by the move thread.
+     */
+    private volatile boolean hangingOption;
+    /*
+     * Whether a move of the player is being checked on the move thread (Event Dispatch
+     * Thread only).
+     */
+    private boolean moveInFlight;
+    /*
+     * Color of the (main) player, who sits at the bottom of the board.
+     */
+    private boolean playerColor;
     /*
      * Board colors
      */
@@ -123,12 +218,38 @@ public class Game extends JFrame {
      * the chessboard display. 
      */
     public Game(boolean playerColor, int gameLength) {
+        this(playerColor, gameLength, false);
+    }
+
+    /*
+     * Game constructor for a game against the computer, which plays the color the
+     * player did not choose.
+     */
+    public Game(boolean playerColor, int gameLength, boolean vsComputer) {
+        this(playerColor, gameLength, vsComputer, Position.START_FEN);
+    }
+
+    /*
+     * Game constructor that starts from the position of the given FEN instead of the
+     * initial position. Throws IllegalArgumentException if the FEN is not valid.
+     */
+    public Game(boolean playerColor, int gameLength, boolean vsComputer, String fen) {
+        this(playerColor, new GameClock(gameLength * 60 * 1000L, GameClock.SUDDEN_DEATH, 0), vsComputer, fen);
+    }
+
+    /*
+     * Game constructor with any time control, e.g. with an increment or delay.
+     */
+    public Game(boolean playerColor, GameClock clock, boolean vsComputer, String fen) {
         /*
          * Initialize Game properties:
          *      Border Layout Manager
          *      Fixed frame size
          *      Exit program on close         
          */
+        this.playerColor = playerColor;
+        position.setFen(fen);
+        turn = position.sideToMove() == Position.WHITE;
         setAlwaysOnTop(true);
         setLayout(new BorderLayout());
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -151,7 +272,7 @@ public class Game extends JFrame {
         boolean dark = false;
         for (int x = 0; x < BOARD_SIZE; x++) {
             for (int y = 0; y < BOARD_SIZE; y++) {
-                squares[x][y] = new Square(y, x); 
+                squares[x][y] = new Square(y, x, toIndex(y, x)); 
                 Color brown = (dark) ? db : lb; // color each square different than the last one
                 squares[x][y].setBackground(brown);
                 boardPanel.add(squares[x][y]);    // add this square to the game frame
@@ -159,84 +280,17 @@ public class Game extends JFrame {
             }
             dark = !dark; 
         }
-        // Add the pieces to the board
-        boolean color = false;
-        for (int i = 0; i < 4; i++) { // four rows of pieces
-            if (i > 1) { // first 2 rows initialized are the black pieces, next 2 are the white
-                color = true;
-            }
-            for (int j = 0; j < BOARD_SIZE; j++) { // eight pieces per row
-                Piece pc;
-                if (i == 1 || i == 2) { // rows of pawns
-                    pc = new Pawn(color, playerColor);
-                } else {
-                    switch (j) { // initialize pieces based on their starting positions
-                        case 0:
-                        case 7:
-                            pc = new Rook(color);
-                            break;
-                        case 1:
-                        case 6:
-                            pc = new Knight(color);
-                            break;
-                        case 2:
-                        case 5:
-                            pc = new Bishop(color);
-                            break;
-                        case 3:
-                            pc = new Queen(color);
-                            break;
-                        case 4:
-                            pc = new King(color);
-                            break;
-                        default:
-                            pc = new Pawn(color, playerColor);
-                            break;
-                    }
-                }
-                if (i > 1) { 
-                    if (playerColor) {
-                        // Player is white, so add the white pieces to the bottom of the board
-                        squares[i+4][j].add(pc);
-                        squares[i+4][j].setPiece(pc);
-                        pc.setSquare(squares[i+4][j]);
-                    } else {
-                        // Player is black, so add the white pieces to the top of the board
-                        if (i == 2) {
-                            squares[1][j].add(pc);
-                            squares[1][j].setPiece(pc);
-                            pc.setSquare(squares[1][j]);
-                        } else {
-                            squares[0][j].add(pc);
-                            squares[0][j].setPiece(pc);
-                            pc.setSquare(squares[0][j]);
-                        }
-                        
-                    }
-                    // Add piece to array of pieces
-                    pieces.add(pc);
-                } else { 
-                    if (playerColor) {
-                        // Player is white, so add the black pieces to the top of the board
-                        squares[i][j].add(pc);
-                        squares[i][j].setPiece(pc);
-                        pc.setSquare(squares[i][j]);
-                    } else {
-                        // Player is black, so add the black pieces to the bottom of the board
-                        if (i == 1) {
-                            squares[6][j].add(pc);
-                            squares[6][j].setPiece(pc);
-                            pc.setSquare(squares[6][j]);
-                        } else {
-                            squares[7][j].add(pc);
-                            squares[7][j].setPiece(pc);
-                            pc.setSquare(squares[7][j]);
-                        }
-                    }
-                    // Add piece to array of pieces
-                    pieces.add(pc);
-                }
-    
+        // Add the pieces to the board, as laid out in the headless position
+        for (int sq = 0; sq < 64; sq++) {
+            int code = position.pieceAt(sq);
+            if (code != Position.NO_PIECE) {
+                Piece pc = createPiece(code);
+                Square square = squareAt(sq);
+                square.add(pc);
+                square.setPiece(pc);
+                pc.setSquare(square);
+                // Add piece to the piece list
+                pieces.add(pc, sq);
             }
         }
         // Add the board above to our Game frame
@@ -245,7 +299,8 @@ public class Game extends JFrame {
         ml = new MoveListener();
         boardPanel.addMouseListener(ml);
         // Initialize and declare space and labels for timers
-        String timerDisplay = String.format("%02d:%02d", gameLength, 0);
+        this.clock = clock;
+        String timerDisplay = GameClock.format(clock.remainingMillis(Position.WHITE));
         whiteTimerLabel = new JLabel(timerDisplay);
         whitePanel = new JPanel();
         whitePanel.add(whiteTimerLabel);
@@ -256,16 +311,35 @@ public class Game extends JFrame {
         blackPanel.add(blackTimerLabel);
         blackPanel.setBackground(Color.BLACK);
         // Add timers to the Game Frame
-        whiteTimer = new Timer(1000, new TimerListener(gameLength * 60 * 1000, whiteTimerLabel));
-        blackTimer = new Timer(1000, new TimerListener(gameLength * 60 * 1000, blackTimerLabel));
+        clockRefresh = new Timer(CLOCK_REFRESH_MS, e -> refreshClocks());
         timerPanel = new JPanel();
         timerPanel.add(whitePanel);
         timerPanel.add(blackPanel);
+        // Option to outline pieces that can be won by the other side
+        hangingCheckBox = new JCheckBox("Show hanging pieces");
+        hangingCheckBox.setForeground(Color.WHITE);
+        hangingCheckBox.setOpaque(false);
+        hangingCheckBox.setFocusable(false);
+        hangingCheckBox.addActionListener(e -> updateHangingPieces());
+        timerPanel.add(hangingCheckBox);
         timerPanel.setBackground(dg);
         add(timerPanel, BorderLayout.SOUTH);
         // Create a border around the chess board
         northBorder = new JPanel();
         eastBorder = new JPanel();
+        evalBar = new EvalBar(Square.SIZE * BOARD_SIZE, playerColor);
+        evalBar.setScore(Evaluator.evaluateWhite(position));
+        eastBorder.add(evalBar);
+        // Opening explorer, when an explorer file was built for a game database
+        try {
+            explorer = OpeningExplorer.openDefault();
+        } catch (IOException e) {
+            AsyncLog.log("Could not open the opening explorer: " + e.getMessage());
+        }
+        if (explorer != null) {
+            explorerPanel = new ExplorerPanel(Square.SIZE * BOARD_SIZE);
+            eastBorder.add(explorerPanel);
+        }
         westBorder = new JPanel();
         northBorder.setBackground(dg);
         eastBorder.setBackground(dg);
@@ -277,76 +351,433 @@ public class Game extends JFrame {
         pack();
         // Display the Game at the center of the window
         setLocationRelativeTo(null); 
+        // A position loaded from a FEN may already be over
+        lastResult = new MoveResult(Move.NONE, position, 0, explorer);
+        if (Bitbases.sharedError() != null) {
+            AsyncLog.log("Could not open the bitbases: " + Bitbases.sharedError().getMessage());
+        }
+        showExplorer(lastResult);
+        checkGameEnd(lastResult);
+        // The computer moves first when it is not the player's turn
+        if (vsComputer) {
+            engine = new ParallelSearch(ParallelSearch.defaultThreads());
+            try {
+                book = PolyglotBook.openDefault();
+                if (book != null && !PolyglotKey.isStandard()) {
+                    AsyncLog.log("The opening book keys are not Polyglot's, the book may not match");
+                }
+            } catch (IOException e) {
+                AsyncLog.log("Could not open the opening book: " + e.getMessage());
+            }
+            if (!gameOver && turn != playerColor) {
+                startEngine();
+            }
+        }
     } // end Game constructor
 
+    /*
+     * getFen returns the FEN of the current position, so the game can be resumed later.
+     */
+    public String getFen() {
+        return lastResult.fen;
+    }
+
+    /*
+     * toIndex converts a column and row of the board display to the index of that square in
+     * the headless position, based on which side of the board the player is sitting.
+     */
+    private int toIndex(int col, int row) {
+        return playerColor ? (7 - row) * 8 + col : row * 8 + (7 - col);
+    }
+
+    /*
+     * squareAt returns the displayed Square for an index of the headless position.
+     */
+    private Square squareAt(int index) {
+        int file = index & 7, rank = index >>> 3;
+        return playerColor ? squares[7 - rank][file] : squares[rank][7 - file];
+    }
+
+    /*
+     * createPiece creates the Swing piece for a piece code of the headless position.
+     */
+    private Piece createPiece(int code) {
+        boolean white = Position.colorOf(code) == Position.WHITE;
+        switch (Position.typeOf(code)) {
+            case Position.KNIGHT:
+                return new Knight(white);
+            case Position.BISHOP:
+                return new Bishop(white);
+            case Position.ROOK:
+                return new Rook(white);
+            case Position.QUEEN:
+                return new Queen(white);
+            case Position.KING:
+                return new King(white);
+            default:
+                return new Pawn(white);
+        }
+    }
+
+    /*
+     * syncSquare makes the piece displayed on a square match the given piece code of the
+     * headless position, e.g. after a pawn was promoted there.
+     */
+    private void syncSquare(Square sq, int code) {
+        Piece shown = pieces.at(sq.getIndex());
+        if (code == Position.NO_PIECE || shown == null || isSameType(shown, code)) {
+            return;
+        }
+        Piece pc = createPiece(code);
+        sq.remove(shown);
+        pieces.remove(sq.getIndex());
+        sq.add(pc);
+        sq.setPiece(pc);
+        pc.setSquare(sq);
+        pieces.add(pc, sq.getIndex());
+    }
+
+    /*
+     * Helper function for syncSquare. Checks if a Swing piece is of the type of the given code.
+     */
+    private boolean isSameType(Piece pc, int code) {
+        switch (Position.typeOf(code)) {
+            case Position.PAWN:
+                return pc instanceof Pawn;
+            case Position.KNIGHT:
+                return pc instanceof Knight;
+            case Position.BISHOP:
+                return pc instanceof Bishop;
+            case Position.ROOK:
+                return pc instanceof Rook;
+            case Position.QUEEN:
+                return pc instanceof Queen;
+            default:
+                return pc instanceof King;
+        }
+    }
+
     /* Chess game functionality below:  
      * Moving
-     * Check/Checkmate
+     * Check/Checkmate/Stalemate
      * Timing
-     * TODO: Game Endings 
      * 
      *----------------------------------------------------------------------
-     * isInCheck function takes in the color of the player we are checking
-     * and our 2D array of squares, i.e. the chess board, and our array of 
-     * pieces. We will loop through every opposing piece to check if this 
-     * King is being threatened.
+     * isInCheck function takes in the color of the player we are checking.
+     * Answered from the result of the last move, so it is safe to call from
+     * any thread.
      */
     public boolean isInCheck(boolean color) {
-        /*
-         * Loop through all of the opposing pieces to see if any are attacking the King.
-         */
-        for (Piece currPiece : pieces) {
-            if (currPiece.getColor() != color && currPiece.isAttackingKing(findKing(color), squares)) {
-                return true;
+        MoveResult result = lastResult;
+        return result.inCheck && result.sideToMove == (color ? Position.WHITE : Position.BLACK);
+    }
+
+    /*
+     * findMove looks up the legal move between the given squares of the headless position,
+     * or returns Move.NONE if there is none. Pawns reaching the last rank promote to a Queen.
+     * Runs on the move thread.
+     */
+    private int findMove(int from, int to) {
+        int count = MoveGenerator.generate(position, legalMoves, 0);
+        for (int i = 0; i < count; i++) {
+            int move = legalMoves[i];
+            if (Move.from(move) == from && Move.to(move) == to) {
+                return move; // Queen promotions are generated first
             }
         }
-        return false;
+        return Move.NONE;
     }
-    
+
     /*
-     * Helper function for isInCheck. Searches the opponent's remaining pieces and 
-     * returns the King's position on the board. 
+     * submitMove hands the player's move between the given squares to the move thread,
+     * which plays it if it is legal. Clicks on the board are ignored until it is done.
      */
-    private Square findKing(boolean color) {
-        // Loop through every piece to find the King
-        for (Piece pc : pieces) {
-            if (pc instanceof King && pc.getColor() == color) {
-                return pc.getSquare();
+    private void submitMove(int from, int to) {
+        moveInFlight = true;
+        moveThread.execute(() -> {
+            int move = findMove(from, to);
+            if (move == Move.NONE) {
+                AsyncLog.log("Sorry, that piece cannot move there. Try a different move.");
+                SwingUtilities.invokeLater(() -> moveInFlight = false);
+                return;
             }
+            playMove(move);
+            AsyncLog.log("Successfully moved to " + Bitboard.squareName(to));
+        });
+    }
+
+    /*
+     * playMove plays a legal move in the headless position and works out what it leads
+     * to, then posts the result to the Event Dispatch Thread to be shown. Runs on the move
+     * thread.
+     */
+    private void playMove(int move) {
+        if (gameOver) {
+            return;
         }
-        return null;
+        position.makeMove(move);
+        MoveResult result = new MoveResult(move, position, hangingPieces(), explorer);
+        lastResult = result;
+        SwingUtilities.invokeLater(() -> showMove(result));
     }
 
     /*
-     * causesCheck ensures that the move with the given piece and squares would not either cause a check
-     * or preserve an existing check. 
+     * showMove plays a move on the board display, then hands the turn and the clock to the
+     * other player.
      */
-    private boolean causesCheck(boolean color, Piece piece, Square start, Square dest, Square[][] squares) {
-        Piece killedPiece = (dest.getPiece() == null) ? null : dest.getPiece();
-        // Adjust the Game as if the move was made, check if that board would cause the player to be in check
-        dest.setPiece(piece);
-        start.setPiece(null);
-        piece.setSquare(dest);
-        if (killedPiece != null) {
-            pieces.removeIf(pc -> (pc.getId() == killedPiece.getId()));
+    private void showMove(MoveResult result) {
+        moveInFlight = false;
+        if (gameOver) { // e.g. a clock ran out while the move was on its way
+            return;
         }
-        boolean isCheck = isInCheck(color);
-        // Reset the Game to previous state since the move shouldn't be made yet
-        dest.setPiece(killedPiece);
-        start.setPiece(piece);
-        piece.setSquare(start);
+        int move = result.move;
+        Square start = squareAt(Move.from(move)), dest = squareAt(Move.to(move));
+        Piece pc = pieces.at(start.getIndex());
+        // En passant captures the pawn behind the destination square
+        Square killedSquare = (Move.flag(move) == Move.EN_PASSANT) ? squareAt(dest.getIndex() ^ 8) : dest;
+        Piece killedPiece = pieces.at(killedSquare.getIndex());
         if (killedPiece != null) {
-            pieces.add(killedPiece);
-        }       
-        return isCheck;
+            pc.kill(killedPiece, killedSquare);
+            pieces.remove(killedSquare.getIndex());
+        }
+        pieces.move(start.getIndex(), dest.getIndex());
+        if (Move.flag(move) == Move.CASTLING) { // the King brings the rook along
+            int to = Move.to(move);
+            if (to > Move.from(move)) {
+                pieces.move(to + 1, to - 1);
+            } else {
+                pieces.move(to - 2, to + 1);
+            }
+        }
+        pc.makeMove(start, dest, squares);
+        start.remove(pc);
+        dest.add(pc);
+        // Show a promoted piece
+        syncSquare(dest, result.movedPiece);
+        evalBar.setScore(result.eval);
+        showExplorer(result);
+        showHangingPieces(result.hanging);
+        turn = !turn;
+        clock.press(result.sideToMove);
+        clockRefresh.start();
+        refreshClocks();
+        checkGameEnd(result);
+        if (engine != null && !gameOver && turn != playerColor) {
+            startEngine();
+        }
+        repaint();
+    }
+
+    /*
+     * showExplorer shows the explorer statistics of the position a move led to.
+     */
+    private void showExplorer(MoveResult result) {
+        if (explorerPanel != null) {
+            explorerPanel.setStats(result.explorerStats);
+        }
+    }
+
+    /*
+     * updateHangingPieces works out the hanging pieces on the move thread after the option
+     * was switched, and shows them.
+     */
+    private void updateHangingPieces() {
+        hangingOption = hangingCheckBox.isSelected();
+        moveThread.execute(() -> {
+            long hanging = hangingPieces();
+            SwingUtilities.invokeLater(() -> showHangingPieces(hanging));
+        });
+    }
+
+    /*
+     * hangingPieces returns the pieces of both sides that the other side could win
+     * material with by capturing, or none when the option is off. Runs on the move thread.
+     */
+    private long hangingPieces() {
+        if (!hangingOption) {
+            return 0;
+        }
+        return StaticExchange.hangingPieces(position, Position.WHITE)
+                | StaticExchange.hangingPieces(position, Position.BLACK);
+    }
+
+    /*
+     * showHangingPieces outlines the given hanging pieces and clears the old outlines.
+     */
+    private void showHangingPieces(long hanging) {
+        long changed = hanging ^ hangingShown;
+        while (changed != 0) {
+            int sq = Long.numberOfTrailingZeros(changed);
+            changed &= changed - 1;
+            boolean on = (hanging & (1L << sq)) != 0;
+            squareAt(sq).setBorder(on ? BorderFactory.createLineBorder(Color.RED, 3) : null);
+        }
+        hangingShown = hanging;
+    }
+
+    /*
+     * startEngine plays the computer's move from the opening book if it can, or else lets
+     * it think on a background thread, using the time left on its clock, and plays the move
+     * on the move thread when done.
+     */
+    private void startEngine() {
+        TimeManager time = TimeManager.forClock(clock.remainingMillis(turn ? Position.WHITE : Position.BLACK),
+                clock.bonusMillis(), 0);
+        // Copy the position on the move thread, after the move that was just shown
+        moveThread.execute(() -> {
+            // Book moves are played at once, leaving the clock for later
+            int bookMove = (book == null) ? Move.NONE : book.probe(position, bookRandom);
+            if (bookMove != Move.NONE) {
+                AsyncLog.log("Computer played " + Move.toUci(bookMove) + " from the book");
+                playMove(bookMove);
+                return;
+            }
+            Position snapshot = new Position();
+            snapshot.copyFrom(position);
+            Thread thinker = new Thread(() -> {
+                int move = engine.think(snapshot, time, Search.MAX_PLY);
+                AsyncLog.log("Computer played " + Move.toUci(move) + " (depth " + engine.completedDepth()
+                        + ", score " + engine.bestScore() + ", " + engine.nodes() + " nodes)");
+                if (move != Move.NONE) {
+                    moveThread.execute(() -> playMove(move));
+                }
+            }, "engine");
+            thinker.setDaemon(true);
+            thinker.start();
+        });
     }
 
     /*
-     * TODO: Implement checkmate functionality
+     * isInCheckmate checks if the player of the given color is to move and checkmated, as
+     * worked out after the last move.
      */
     public boolean isInCheckmate(boolean color) {
+        MoveResult result = lastResult;
+        return result.status == GameStatus.CHECKMATE && result.sideToMove == (color ? Position.WHITE : Position.BLACK);
+    }
+
+    /*
+     * isInStalemate checks if the player of the given color is to move, not in check,
+     * and has no legal move.
+     */
+    public boolean isInStalemate(boolean color) {
+        MoveResult result = lastResult;
+        return result.status == GameStatus.STALEMATE && result.sideToMove == (color ? Position.WHITE : Position.BLACK);
+    }
+
+    /*
+     * isLostEnding checks if the player of the given color is to move in an ending the
+     * bitbases know is lost against perfect play.
+     */
+    public boolean isLostEnding(boolean color) {
+        MoveResult result = lastResult;
+        return result.ending == Bitbases.LOSS && result.sideToMove == (color ? Position.WHITE : Position.BLACK);
+    }
+
+    /*
+     * checkGameEnd is called with the result of every move to end the game on checkmate,
+     * stalemate, insufficient material, threefold repetition or the 50-move rule, or in an
+     * ending the bitbases know is a draw.
+     */
+    private void checkGameEnd(MoveResult result) {
+        switch (result.status) {
+            case CHECKMATE:
+                AsyncLog.log("Checkmate!");
+                showWinner(!turn); // the player to move has been mated
+                break;
+            case STALEMATE:
+                showDraw("Stalemate");
+                break;
+            case INSUFFICIENT_MATERIAL:
+                showDraw("Insufficient material");
+                break;
+            case THREEFOLD_REPETITION:
+                showDraw("Threefold repetition");
+                break;
+            case FIFTY_MOVE_RULE:
+                showDraw("50-move rule");
+                break;
+            default:
+                if (result.ending == Bitbases.DRAW) {
+                    showDraw("Drawn ending");
+                    break;
+                }
+                if (result.inCheck) {
+                    AsyncLog.log(turn ? "White is in check!" : "Black is in check!");
+                }
+                if (result.ending != Bitbases.UNKNOWN) {
+                    boolean whiteWins = (result.ending == Bitbases.WIN) == (result.sideToMove == Position.WHITE);
+                    AsyncLog.log((whiteWins ? "White" : "Black") + " mates in " + (result.mateIn + 1) / 2
+                            + " with best play");
+                }
+                break;
+        }
+    }
+
+    /*
+     * showWinner ends the game and replaces the board with a panel announcing the winner.
+     */
+    private void showWinner(boolean white) {
         gameOver = true;
-        return true;
+        clock.stop();
+        clockRefresh.stop();
+        if (engine != null) {
+            engine.stop();
+        }
+        if (!white) { // black won
+            blackWin = new JPanel();
+            blackWin.setBackground(Color.DARK_GRAY);
+            blackWin.setBorder(BorderFactory.createEmptyBorder(250,100,250,100));
+            blackWinLabel = new JLabel("Black Wins!", SwingConstants.CENTER);
+            blackWinLabel.setFont(new Font("Arial", Font.BOLD, 32));
+            blackWinLabel.setForeground(Color.WHITE);
+            // Display an image of a King
+            JLabel king = new JLabel(Sprites.icon(false, Position.KING, WIN_ICON_SIZE));
+            // Add components
+            blackWin.add(king);                 
+            blackWin.add(blackWinLabel);
+            add(blackWin, BorderLayout.CENTER);
+        } else { // white won
+            whiteWin = new JPanel();
+            whiteWin.setBackground(Color.WHITE);
+            whiteWin.setBorder(BorderFactory.createEmptyBorder(250,100,250,100));
+            whiteWinLabel = new JLabel("White Wins!", SwingConstants.CENTER);
+            whiteWinLabel.setFont(new Font("Arial", Font.BOLD, 32));
+            // Display an image of a King
+            JLabel king = new JLabel(Sprites.icon(true, Position.KING, WIN_ICON_SIZE));
+            // Add components
+            whiteWin.add(king);                 
+            whiteWin.add(whiteWinLabel);
+            add(whiteWin, BorderLayout.CENTER);
+        }
+        revalidate();
+        repaint();
+    }
+
+    /*
+     * showDraw ends the game and replaces the board with a panel announcing a draw.
+     */
+    private void showDraw(String reason) {
+        gameOver = true;
+        clock.stop();
+        clockRefresh.stop();
+        if (engine != null) {
+            engine.stop();
+        }
+        AsyncLog.log("Draw: " + reason);
+        drawPanel = new JPanel(new GridLayout(2, 1));
+        drawPanel.setBackground(dg);
+        drawPanel.setBorder(BorderFactory.createEmptyBorder(250,100,250,100));
+        JLabel drawLabel = new JLabel("Draw!", SwingConstants.CENTER);
+        drawLabel.setFont(new Font("Arial", Font.BOLD, 32));
+        drawLabel.setForeground(Color.WHITE);
+        JLabel reasonLabel = new JLabel(reason, SwingConstants.CENTER);
+        reasonLabel.setForeground(Color.WHITE);
+        drawPanel.add(drawLabel);
+        drawPanel.add(reasonLabel);
+        add(drawPanel, BorderLayout.CENTER);
+        revalidate();
+        repaint();
     }
 
     /*
@@ -357,7 +788,7 @@ public class Game extends JFrame {
     private class MoveListener implements MouseListener {
         // Initalize member variables to null/invalid
         // Previous piece is the piece we want to move
-        private Piece prevPiece = null, killedPiece = null;
+        private Piece prevPiece = null;
         private Square prevSquare = null, currSquare = null;
 
         public MoveListener () {
@@ -372,44 +803,31 @@ public class Game extends JFrame {
             if (gameOver) { // game is over, don't respond to clicks
                 return;
             }
+            if (engine != null && turn != playerColor) { // the computer is thinking
+                AsyncLog.log("Please wait for the computer to move.");
+                return;
+            }
+            if (moveInFlight) { // the last move is still being checked
+                return;
+            }
             int col = e.getX()/74; // div by 74 since thats the preferred size of each square
             int row = e.getY()/74;
             currSquare = squares[row][col];
             
             if (prevPiece == null) {
                 prevSquare = currSquare;
-                prevPiece = prevSquare.getPiece();
-                System.out.println("Mouse clicked square at "  + files[col] + rows[row]);
-            } else if (prevPiece.getColor() == turn && prevPiece.isMove(prevSquare, currSquare, squares) && !causesCheck(turn, prevPiece, prevSquare, currSquare, squares)) {
-                killedPiece = currSquare.getPiece();
-                prevPiece.makeMove(prevSquare, currSquare, squares);
-                if (killedPiece != null) {
-                    currSquare.remove(killedPiece);
-                    pieces.removeIf(pc -> (pc.getId() == killedPiece.getId()));
-                }
-                prevSquare.remove(prevPiece);
-                currSquare.add(prevPiece);
-                System.out.println("Successfully moved to " + files[col] + rows[row]);
+                prevPiece = pieces.at(prevSquare.getIndex());
+                AsyncLog.log("Mouse clicked square at "  + files[col] + rows[row]);
+            } else if (prevPiece.getColor() == turn) { // checked and played on the move thread
+                submitMove(prevSquare.getIndex(), currSquare.getIndex());
                 prevPiece = null;  
-                killedPiece = null;
-                turn = !turn;
+            } else { // player attempted moving during the opposing turn
                 if (turn) {
-                    blackTimer.stop();
-                    whiteTimer.start();
+                    AsyncLog.log("It is not black's turn!");
                 } else {
-                    whiteTimer.stop();
-                    blackTimer.start();
-                }
-            } else if (prevPiece.getColor() != turn) { // player attempted moving during the opposing turn
-                if (turn) {
-                    System.out.println("It is not black's turn!");
-                } else {
-                    System.out.println("It is not white's turn!");
+                    AsyncLog.log("It is not white's turn!");
                 }
                 prevPiece = null;
-            } else {
-                System.out.println("Sorry, that piece cannot move there. Try a different move.");
-                prevPiece = null;
             }
             
             // Update the Game JFrame to display the moves made
@@ -440,69 +858,57 @@ public class Game extends JFrame {
     } // end MoveListener class
 
     /*
-     * TimerListener class used for player game clock functionality.
-     * When counting, these clocks count down from the set game time.
-     * If the timer hits 0 for a player, that player loses automatically. 
-     * 
-     * TODO: clean up
+     * refreshClocks shows the time left on both clocks, touching a label only when its
+     * text changes. If the player to move has run out of time, they lose.
      */
-    private class TimerListener implements ActionListener {
-        private int remainingTime;
-        private JLabel timerLabel;
+    private void refreshClocks() {
+        setClockText(whiteTimerLabel, clock.remainingMillis(Position.WHITE));
+        setClockText(blackTimerLabel, clock.remainingMillis(Position.BLACK));
+        if (!gameOver && clock.isFlagged(turn ? Position.WHITE : Position.BLACK)) {
+            showWinner(!turn); // the player whose clock ran out loses
+        }
+    }
 
-        public TimerListener(int rt, JLabel tl) {
-            remainingTime = rt;
-            timerLabel = tl;
+    /*
+     * Helper function for refreshClocks.
+     */
+    private static void setClockText(JLabel label, long millis) {
+        String text = GameClock.format(millis);
+        if (!text.equals(label.getText())) {
+            label.setText(text);
         }
+    }
 
-        @Override
-        public void actionPerformed(ActionEvent e) {
-            remainingTime -= 1000; // subtract 1000 milliseconds, or 1 second, from remaining time
-
-            int minutes = remainingTime / (60 * 1000);
-            int seconds = (remainingTime / 1000) % 60;
-            // Display time
-            String formattedTime = String.format("%02d:%02d", minutes, seconds);
-            timerLabel.setText(formattedTime);
-
-            if (remainingTime <= 0) {
-                gameOver = true;
-                Timer t = (Timer)e.getSource();
-                t.stop();
-
-                if (turn) { // white ran out of time, so black won
-                    blackWin = new JPanel();
-                    blackWin.setBackground(Color.DARK_GRAY);
-                    blackWin.setBorder(BorderFactory.createEmptyBorder(250,100,250,100));
-                    blackWinLabel = new JLabel("Black Wins!", SwingConstants.CENTER);
-                    blackWinLabel.setFont(new Font("Arial", Font.BOLD, 32));
-                    blackWinLabel.setForeground(Color.WHITE);
-                    // Display an image of a King
-                    ImageIcon i = new ImageIcon(getClass().getResource("/img/b_king.png"));
-                    Image curr = i.getImage().getScaledInstance(100, 100, Image.SCALE_SMOOTH);
-                    i = new ImageIcon(curr);
-                    JLabel king = new JLabel(i);
-                    // Add components
-                    blackWin.add(king);                 
-                    blackWin.add(blackWinLabel);
-                    Game.this.add(blackWin, BorderLayout.CENTER);
-                } else { // black ran out of time, so white won
-                    whiteWin = new JPanel();
-                    whiteWin.setBackground(Color.WHITE);
-                    whiteWin.setBorder(BorderFactory.createEmptyBorder(250,100,250,100));
-                    whiteWinLabel = new JLabel("White Wins!", SwingConstants.CENTER);
-                    whiteWinLabel.setFont(new Font("Arial", Font.BOLD, 32));
-                    // Display an image of a King
-                    ImageIcon i = new ImageIcon(getClass().getResource("/img/w_king.png"));
-                    Image curr = i.getImage().getScaledInstance(100, 100, Image.SCALE_SMOOTH);
-                    i = new ImageIcon(curr);
-                    JLabel king = new JLabel(i);
-                    // Add components
-                    whiteWin.add(king);                 
-                    whiteWin.add(whiteWinLabel);
-                    Game.this.add(whiteWin);
-                }
-            }
+    /*
+     * MoveResult class holds what a move led to, worked out on the move thread, for the
+     * Event Dispatch Thread to show. Immutable, so it can be handed between threads.
+     */
+    private static final class MoveResult {
+        final int move;
+        final int movedPiece;   // piece code on the destination square, e.g. a promoted Queen
+        final int sideToMove;
+        final GameStatus status;
+        final boolean inCheck;
+        final int eval;         // from White's point of view
+        final long hanging;
+        final String fen;
+        final List<MoveStats> explorerStats; // null without an explorer
+        final int ending;       // Bitbases result for the side to move, UNKNOWN outside the tables
+        final int mateIn;       // plies, when the tables know the ending is won
+
+        MoveResult(int move, Position pos, long hanging, OpeningExplorer explorer) {
+            this.move = move;
+            this.movedPiece = (move == Move.NONE) ? Position.NO_PIECE : pos.pieceAt(Move.to(move));
+            this.sideToMove = pos.sideToMove();
+            this.status = GameStatus.of(pos);
+            this.inCheck = pos.isInCheck(sideToMove);
+            this.eval = Evaluator.evaluateWhite(pos);
+            this.hanging = hanging;
+            this.fen = pos.toFen();
+            this.explorerStats = (explorer == null) ? null : explorer.query(pos);
+            Bitbases bitbases = Bitbases.shared();
+            this.ending = (bitbases == null) ? Bitbases.UNKNOWN : bitbases.probe(pos);
+            this.mateIn = (bitbases == null) ? -1 : bitbases.distanceToMate(pos);
         }
-    } // end TimerListener class
+    } // end MoveResult class
 } // end Game class
\ No newline at end of file
@@ -0,0 +1,78 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * The Swing pieces of a game, kept in one list per side and
+ * in a map from square index to piece, which Game reads the
+ * board through. A piece's id is its index in the list of its
+ * side, so ids are small, dense and never collide. Adding,
+ * capturing (remove) and uncapturing (add again) a piece take
+ * constant time: a removed piece's slot is filled by the last
+ * piece of the list, which takes over its id.
+ *-----------------------------------------------------------*/
+package wfs.chess.board;
+
+import wfs.chess.core.Position;
+import wfs.chess.pieces.Piece;
+
+public class PieceList {
+    /*
+     * A side never has more than 16 pieces, promotions only replace pawns.
+     */
+    public static final int MAX_PER_SIDE = 16;
+
+    private final Piece[][] list = new Piece[2][MAX_PER_SIDE];
+    private final int[] count = new int[2];
+    private final Piece[] onSquare = new Piece[64];
+
+    /*
+     * add puts a piece on the given square and gives it the next id of its side.
+     */
+    public void add(Piece pc, int sq) {
+        int side = side(pc);
+        if (count[side] == MAX_PER_SIDE) {
+            throw new IllegalStateException("More than " + MAX_PER_SIDE + " pieces for one side");
+        }
+        int id = count[side]++;
+        list[side][id] = pc;
+        pc.setId(id);
+        onSquare[sq] = pc;
+    }
+
+    /*
+     * remove takes the piece off the given square, e.g. when it is captured, and returns
+     * it (null if the square is empty). The last piece of its side takes over its id.
+     */
+    public Piece remove(int sq) {
+        Piece pc = onSquare[sq];
+        if (pc == null) {
+            return null;
+        }
+        onSquare[sq] = null;
+        int side = side(pc);
+        Piece last = list[side][--count[side]];
+        list[side][pc.getId()] = last;
+        last.setId(pc.getId());
+        list[side][count[side]] = null;
+        return pc;
+    }
+
+    /*
+     * move moves the piece on the given square to another (empty) square.
+     */
+    public void move(int from, int to) {
+        onSquare[to] = onSquare[from];
+        onSquare[from] = null;
+    }
+
+    /*
+     * at returns the piece on the given square, or null if it is empty.
+     */
+    public Piece at(int sq) {
+        return onSquare[sq];
+    }
+
+    private static int side(Piece pc) {
+        return pc.getColor() ? Position.WHITE : Position.BLACK;
+    }
+} // end PieceList class
@@ -10,7 +10,6 @@ package wfs.chess.board;
 
 import javax.swing.JPanel;
 import wfs.chess.pieces.Piece;
-import wfs.chess.pieces.King;
 
 public class Square extends JPanel {
     /*
@@ -27,15 +26,21 @@ public class Square extends JPanel {
      */
     private int x; 
     private int y;  
+    /*
+     * Index of the square in the headless Position (0 = a1, 63 = h8). Unlike x and y,
+     * this does not depend on which side of the board the player is sitting.
+     */
+    private int index;
 
     /*
      * Square constuctor. Initialize piece to null (empty square) and set the coordinates
      * based on function arguments. 
      */
-    public Square(int x, int y) {
+    public Square(int x, int y, int index) {
         pc = null;
         this.x = x;
         this.y = y;
+        this.index = index;
     }
     
     /*
@@ -66,6 +71,13 @@ public class Square extends JPanel {
         return y;
     }
 
+    /*
+     * getIndex function to return the square's index in the headless Position.
+     */
+    public int getIndex() {
+        return index;
+    }
+
     /*
      * equals function to compare different Square objects.
      */
@@ -76,21 +88,4 @@ public class Square extends JPanel {
             return false;
         }
     }
-    
-    /*
-     * checkForKing function to enforce rule that Kings cannot move next to each other.
-     */
-    public boolean checkForKing(int x, int y, Square[][] squares) {
-        for (int i = -1; i <= 1; i++) {
-            for (int j = -1; j <= 1; j++) {
-                if (y+i > 7 || y+i < 0 || x+j > 7 || x+j < 0|| (y+i == y && x+j == x)) { // ensure valid indices
-                    continue;
-                }
-                if (squares[y+i][x+j].getPiece() instanceof King) { // check neighboring squares for a King
-                    return true;
-                }
-            }
-        } 
-        return false;
-    }
 }
\ No newline at end of file
@@ -13,6 +13,9 @@ import java.awt.*;
 
 import java.awt.event.ActionListener;
 import java.awt.event.ActionEvent;
+import wfs.chess.core.GameClock;
+import wfs.chess.core.Position;
+import wfs.chess.pieces.Sprites;
 
 public class TitleScreen extends JFrame {
     /*
@@ -23,10 +26,12 @@ public class TitleScreen extends JFrame {
     /*
      * Button components for user input for game settings.
      */
-    private JRadioButton whiteRadioButton, blackRadioButton, threeMinute, fiveMinute, tenMinute;
+    private JRadioButton whiteRadioButton, blackRadioButton, oneMinute, threeMinute, fiveMinute, tenMinute;
+    private JComboBox<String> bonusComboBox;
     private ImageIcon whiteIcon, blackIcon, whiteSelectedIcon, blackSelectedIcon;
     private ButtonGroup colorButtonGroup, timeButtonGroup;
-    private JButton playButton;
+    private JButton playButton, fenButton;
+    private JCheckBox computerCheckBox;
     private JPanel timeButtons, timePanel, colorButtons, colorPanel;
     private JLabel timeLabel, colorLabel;
     /*
@@ -34,7 +39,19 @@ public class TitleScreen extends JFrame {
      * and the default player color is white.
      */
     private int timeSelection = 10;
+    /*
+     * Increment or delay choices as {label, GameClock mode, milliseconds}.
+     */
+    private static final Object[][] BONUS_CHOICES = {
+        {"No increment", GameClock.SUDDEN_DEATH, 0},
+        {"+1 s increment", GameClock.FISCHER, 1000},
+        {"+2 s increment", GameClock.FISCHER, 2000},
+        {"+5 s increment", GameClock.FISCHER, 5000},
+        {"3 s delay", GameClock.BRONSTEIN, 3000},
+        {"5 s delay", GameClock.BRONSTEIN, 5000},
+    };
     private boolean colorSelection = true;
+    private boolean computerSelection = false;
     /*
      * Extra JPanels so we can mimic the look of a chess board in our title screen.
      */
@@ -46,6 +63,8 @@ public class TitleScreen extends JFrame {
     private Color db = new Color(153, 76, 10);
 
     public TitleScreen () {
+        // Load the piece images for the board in the background while the user chooses
+        Sprites.preload(Square.SIZE, Game.WIN_ICON_SIZE);
         // Set layout to mimic the look of a chessboard
         setLayout(new GridLayout(4, 3));
         setPreferredSize(new Dimension(500, 350));
@@ -79,6 +98,9 @@ public class TitleScreen extends JFrame {
         add(titlePanel);
         add(spots[1]);
         // Creating buttons for game length selection (second row)
+        oneMinute = new JRadioButton("1:00");
+        oneMinute.addActionListener(new TimeBtnListener(1));
+        oneMinute.setBackground(lb);
         threeMinute = new JRadioButton("3:00");
         threeMinute.addActionListener(new TimeBtnListener(3));
         threeMinute.setBackground(lb);
@@ -93,6 +115,7 @@ public class TitleScreen extends JFrame {
         timeLabel.setHorizontalAlignment(SwingConstants.CENTER);
         // Initialize button group for our time buttons
         timeButtonGroup = new ButtonGroup();
+        timeButtonGroup.add(oneMinute);
         timeButtonGroup.add(threeMinute);
         timeButtonGroup.add(fiveMinute);
         timeButtonGroup.add(tenMinute);
@@ -101,29 +124,29 @@ public class TitleScreen extends JFrame {
         timeButtons = new JPanel();
         // Finish the time panel
         timePanel.add(timeLabel, BorderLayout.NORTH);
+        timeButtons.add(oneMinute);
         timeButtons.add(threeMinute);
         timeButtons.add(fiveMinute);
         timeButtons.add(tenMinute);
         timeButtons.setBackground(lb);
         timePanel.add(timeButtons, BorderLayout.CENTER);
+        // Increment or delay added to the game length
+        bonusComboBox = new JComboBox<>();
+        for (Object[] choice : BONUS_CHOICES) {
+            bonusComboBox.addItem((String) choice[0]);
+        }
+        bonusComboBox.addActionListener(e -> AsyncLog.log("You chose " + bonusComboBox.getSelectedItem() + "."));
+        timePanel.add(bonusComboBox, BorderLayout.SOUTH);
         timePanel.setBackground(lb);
         add(spots[2]);
         add(timePanel);
         add(spots[3]);
         // Creating buttons for color selection (third row)
         // Use rook icons for these buttons to denote piece colors
-        ImageIcon white_rook = new ImageIcon(getClass().getResource("/img/w_rook.png"));
-        ImageIcon black_rook = new ImageIcon(getClass().getResource("/img/b_rook.png"));
-        // Get white image icons
-        Image temp = white_rook.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH);
-        whiteIcon = new ImageIcon(temp);
-        temp = white_rook.getImage().getScaledInstance(50, 50, Image.SCALE_SMOOTH);
-        whiteSelectedIcon = new ImageIcon(temp);
-        // Get black image icons
-        temp = black_rook.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH);
-        blackIcon = new ImageIcon(temp);
-        temp = black_rook.getImage().getScaledInstance(50, 50, Image.SCALE_SMOOTH);
-        blackSelectedIcon = new ImageIcon(temp);
+        whiteIcon = Sprites.icon(true, Position.ROOK, 40);
+        whiteSelectedIcon = Sprites.icon(true, Position.ROOK, 50);
+        blackIcon = Sprites.icon(false, Position.ROOK, 40);
+        blackSelectedIcon = Sprites.icon(false, Position.ROOK, 50);
         // Set properties of white button
         whiteRadioButton = new JRadioButton();
         whiteRadioButton.setPreferredSize(new Dimension(50,50));
@@ -160,9 +183,21 @@ public class TitleScreen extends JFrame {
         // Creating panel for game start (fourth row)
         playButton = new JButton("Play");
         playButton.addActionListener(new PlayBtnListener());
+        computerCheckBox = new JCheckBox("vs Computer");
+        computerCheckBox.setHorizontalAlignment(SwingConstants.CENTER);
+        computerCheckBox.setOpaque(false);
+        computerCheckBox.addActionListener(e -> {
+            computerSelection = computerCheckBox.isSelected();
+            AsyncLog.log(computerSelection ? "You chose to play against the computer." : "You chose to play against a friend.");
+        });
+        fenButton = new JButton("Start from FEN...");
+        fenButton.setFont(fenButton.getFont().deriveFont(10f));
+        fenButton.addActionListener(new FenBtnListener());
         JPanel playPanel = new JPanel(new BorderLayout());
-        playPanel.setBorder(BorderFactory.createEmptyBorder(15,25,15,25));
+        playPanel.setBorder(BorderFactory.createEmptyBorder(5,25,5,25));
+        playPanel.add(computerCheckBox, BorderLayout.NORTH);
         playPanel.add(playButton, BorderLayout.CENTER);
+        playPanel.add(fenButton, BorderLayout.SOUTH);
         playPanel.setBackground(lb);
         add(spots[6]);
         add(playPanel);
@@ -172,6 +207,14 @@ public class TitleScreen extends JFrame {
         setLocationRelativeTo(null); // display title screen in the center of the window
     } // end TitleScreen constructor
 
+    /*
+     * createClock creates the game clock for the selected game length and increment or delay.
+     */
+    private GameClock createClock() {
+        Object[] bonus = BONUS_CHOICES[bonusComboBox.getSelectedIndex()];
+        return new GameClock(timeSelection * 60 * 1000L, (Integer) bonus[1], (Integer) bonus[2]);
+    }
+
     /*
      * Time Button Listener to record if and when the user selects
      * and/or changes game length settings.
@@ -186,7 +229,7 @@ public class TitleScreen extends JFrame {
         @Override
         public void actionPerformed(ActionEvent evt) {
             timeSelection = time;
-            System.out.println("You chose a game length of " + time + " minutes per player.");
+            AsyncLog.log("You chose a game length of " + time + " minutes per player.");
         }
     } // end TimeBtnListener class
 
@@ -206,9 +249,9 @@ public class TitleScreen extends JFrame {
         public void actionPerformed(ActionEvent evt) {
             colorSelection = color;
             if (color) {
-                System.out.println("You chose to play with the white pieces.");
+                AsyncLog.log("You chose to play with the white pieces.");
             } else {
-                System.out.println("You chose to play with the black pieces.");
+                AsyncLog.log("You chose to play with the black pieces.");
             }
         }
     } // end ColorBtnListener class
@@ -226,14 +269,40 @@ public class TitleScreen extends JFrame {
             } else {
                 color = "black";
             }
-            System.out.println("You will be playing with the " + color + " pieces with " + timeSelection + " minute game time (per player)!");
-            System.out.println("Enjoy!");
+            AsyncLog.log("You will be playing with the " + color + " pieces with " + timeSelection + " minute game time (per player)!");
+            AsyncLog.log("Enjoy!");
 
             TitleScreen.this.dispose(); // close title screen
             // Initialize new Game
-            Game game = new Game(colorSelection, timeSelection);
+            Game game = new Game(colorSelection, createClock(), computerSelection, Position.START_FEN);
             // Show the Game
             game.setVisible(true);  
         }
     } // end PlayBtnListener class
+
+    /*
+     * FEN Button Listener to start the chess game from a position the user pastes in,
+     * with the current game setting selections.
+     */
+    private class FenBtnListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent evt) {
+            String fen = JOptionPane.showInputDialog(TitleScreen.this, "Paste a FEN to start from:",
+                    Position.START_FEN);
+            if (fen == null || fen.isBlank()) {
+                return; // cancelled
+            }
+            Game game;
+            try {
+                game = new Game(colorSelection, createClock(), computerSelection, fen.trim());
+            } catch (IllegalArgumentException e) {
+                JOptionPane.showMessageDialog(TitleScreen.this, e.getMessage(), "Invalid FEN",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            AsyncLog.log("Starting from " + fen.trim());
+            TitleScreen.this.dispose(); // close title screen
+            game.setVisible(true);
+        }
+    } // end FenBtnListener class
 } // end TitleScreen class
\ No newline at end of file
@@ -0,0 +1,231 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Precomputed attack tables. Knight, king and pawn attacks
+ * are plain per-square masks. Rook and bishop (and so queen)
+ * attacks use "magic bitboards": the blockers on a slider's
+ * lines are multiplied by a magic number, and the top bits of
+ * the product index straight into a table of attack sets. A
+ * slider lookup is therefore a mask, a multiply, a shift and
+ * one array load.
+ *
+ * The magic numbers below were found by a random search over
+ * sparse 64-bit numbers; only the tables are built when the
+ * class is loaded.
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+public final class Attacks {
+    /*
+     * Leaper attack masks, indexed by square (pawns also by color).
+     */
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[][] PAWN = new long[2][64];
+    /*
+     * Magic lookup data for rooks and bishops: relevant blocker masks, magic
+     * multipliers, shifts, and each square's offset into the shared attack table.
+     */
+    private static final long[] ROOK_MASK = new long[64];
+    private static final long[] ROOK_MAGIC = {
+            0x0980008011400020L, 0x8340004410002000L, 0x0880200090008268L, 0x0080080080100004L,
+            0x8100110004020800L, 0x0300010004000822L, 0x08801A0029000080L, 0x8100050001204882L,
+            0x0844800081400320L, 0x0804402010004000L, 0x0108802003100480L, 0x5C00808010000800L,
+            0x0003001801001014L, 0x0002000200041008L, 0x0004008108042210L, 0x0105000100009042L,
+            0x0400808000400021L, 0xC100404010002000L, 0x0060008010002088L, 0x0400808008001000L,
+            0x4440808008000400L, 0x1002008004000280L, 0x40024400300D1248L, 0x0010020000408104L,
+            0x0101008200204200L, 0x8020002040005000L, 0x4100100080802000L, 0x4008006A80100280L,
+            0x0021008500100800L, 0x5000040080800200L, 0x0010040101000200L, 0x6140004200008104L,
+            0x4000400020800090L, 0x2020002080804000L, 0x0000408202002010L, 0x0080100501000820L,
+            0x0004040080800800L, 0xA01A800200800400L, 0x0014820104009008L, 0x0008004082000401L,
+            0x0029804004608010L, 0x0140002000818048L, 0x000C410420010014L, 0x0020100008008080L,
+            0x8000080004008080L, 0x0082008004008002L, 0x1002000801020004L, 0x0010848505620004L,
+            0x0000801840002080L, 0x2002010C80403200L, 0x9000114220010300L, 0x0001000820100100L,
+            0x000A800401080080L, 0xC001400410200801L, 0x4800480102300400L, 0x1000010040840200L,
+            0x0002800442162101L, 0x4000810010204202L, 0x0400201200084082L, 0x8200210004081001L,
+            0x1002001004200802L, 0x0005000208040001L, 0x0002002701AC0822L, 0x000010250184004AL
+    };
+    private static final int[] ROOK_SHIFT = new int[64];
+    private static final int[] ROOK_OFFSET = new int[64];
+    private static final long[] ROOK_TABLE = new long[102400];
+    private static final long[] BISHOP_MASK = new long[64];
+    private static final long[] BISHOP_MAGIC = {
+            0x4014700208012480L, 0x0220014200A10001L, 0x8108084040806120L, 0x200E0A02001A00C0L,
+            0x4442021080243000L, 0x4C00901008100050L, 0x0800821110404840L, 0x0000120222024003L,
+            0x008A08A041020200L, 0x000118460C0428A0L, 0x0000314B06020022L, 0x0804180481080025L,
+            0x0000340520004880L, 0x0440309004200008L, 0x2108084402A01000L, 0x0328024422082200L,
+            0xC21200C004310C00L, 0x460840040820C400L, 0x0010004A02720020L, 0x000800488A044044L,
+            0x0025000A9040000AL, 0x0009010600822104L, 0x0021040400821002L, 0x0801000A19010120L,
+            0x0004048210915000L, 0x0310222005242C05L, 0x00544800101C8010L, 0x2308080000820003L,
+            0x2008820004010401L, 0x0650110244208800L, 0x0009324401080802L, 0x01008022A6010C40L,
+            0x8081200804200940L, 0x300C040305200240L, 0x0002062200240800L, 0x2801400A00042200L,
+            0x14090104000202A0L, 0x05B0020080081048L, 0x0A10010910020880L, 0xC403020222060B00L,
+            0x260D301250402080L, 0x0000A80802088800L, 0x0001008041023000L, 0x0000020202016420L,
+            0x0008540502140400L, 0x0201101008400B80L, 0x0104104202000058L, 0x0002080101000031L,
+            0x4200A20120200004L, 0x0004208410090400L, 0x10A0182508088000L, 0x1814081420880800L,
+            0x1008810850340611L, 0x0081482248020610L, 0x0009080800940000L, 0x0060010240890800L,
+            0x048A920802080500L, 0x26000E9204900404L, 0x200002A080482200L, 0xAC8018422020A808L,
+            0x929A000440A50308L, 0x41801040826C0110L, 0x0140C01081010101L, 0xC0A0012206040EA0L
+    };
+    private static final int[] BISHOP_SHIFT = new int[64];
+    private static final int[] BISHOP_OFFSET = new int[64];
+    private static final long[] BISHOP_TABLE = new long[5248];
+    /*
+     * For each pair of squares on a common rank, file or diagonal: the squares strictly
+     * between them, and the whole line through both of them (empty if not aligned).
+     */
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+    /*
+     * Ray directions as {file step, rank step}.
+     */
+    private static final int[][] ROOK_DIRS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] KNIGHT_STEPS = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+    private static final int[][] KING_STEPS = {{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}};
+
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            KNIGHT[sq] = leaperMask(sq, KNIGHT_STEPS);
+            KING[sq] = leaperMask(sq, KING_STEPS);
+            PAWN[Position.WHITE][sq] = leaperMask(sq, new int[][] {{-1, 1}, {1, 1}});
+            PAWN[Position.BLACK][sq] = leaperMask(sq, new int[][] {{-1, -1}, {1, -1}});
+        }
+        int rookOffset = 0, bishopOffset = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            ROOK_OFFSET[sq] = rookOffset;
+            initMagic(sq, ROOK_DIRS, ROOK_MASK, ROOK_MAGIC, ROOK_SHIFT, ROOK_TABLE, rookOffset);
+            rookOffset += 1 << (64 - ROOK_SHIFT[sq]);
+            BISHOP_OFFSET[sq] = bishopOffset;
+            initMagic(sq, BISHOP_DIRS, BISHOP_MASK, BISHOP_MAGIC, BISHOP_SHIFT, BISHOP_TABLE, bishopOffset);
+            bishopOffset += 1 << (64 - BISHOP_SHIFT[sq]);
+        }
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                long bb = Bitboard.bit(b);
+                if (a == b) {
+                    continue;
+                }
+                if ((rook(a, 0) & bb) != 0) {
+                    BETWEEN[a][b] = rook(a, bb) & rook(b, Bitboard.bit(a));
+                    LINE[a][b] = (rook(a, 0) & rook(b, 0)) | Bitboard.bit(a) | bb;
+                } else if ((bishop(a, 0) & bb) != 0) {
+                    BETWEEN[a][b] = bishop(a, bb) & bishop(b, Bitboard.bit(a));
+                    LINE[a][b] = (bishop(a, 0) & bishop(b, 0)) | Bitboard.bit(a) | bb;
+                }
+            }
+        }
+    }
+
+    private Attacks() {
+    }
+
+    /*
+     * Attack lookups.
+     */
+    public static long knight(int sq) {
+        return KNIGHT[sq];
+    }
+
+    public static long king(int sq) {
+        return KING[sq];
+    }
+
+    /*
+     * pawn returns the squares a pawn of the given color on the given square attacks.
+     */
+    public static long pawn(int color, int sq) {
+        return PAWN[color][sq];
+    }
+
+    public static long rook(int sq, long occupied) {
+        return ROOK_TABLE[ROOK_OFFSET[sq] + (int) (((occupied & ROOK_MASK[sq]) * ROOK_MAGIC[sq]) >>> ROOK_SHIFT[sq])];
+    }
+
+    public static long bishop(int sq, long occupied) {
+        return BISHOP_TABLE[BISHOP_OFFSET[sq] + (int) (((occupied & BISHOP_MASK[sq]) * BISHOP_MAGIC[sq]) >>> BISHOP_SHIFT[sq])];
+    }
+
+    public static long queen(int sq, long occupied) {
+        return rook(sq, occupied) | bishop(sq, occupied);
+    }
+
+    /*
+     * between returns the squares strictly between two aligned squares, or an empty
+     * bitboard if they do not share a rank, file or diagonal.
+     */
+    public static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    /*
+     * line returns the full rank, file or diagonal through two aligned squares, or an
+     * empty bitboard if they are not aligned.
+     */
+    public static long line(int a, int b) {
+        return LINE[a][b];
+    }
+
+    /*
+     * Helper function for the static initializer. Builds the mask of squares reached by
+     * single steps from a square, skipping steps that fall off the board.
+     */
+    private static long leaperMask(int sq, int[][] steps) {
+        long mask = 0;
+        int f = Bitboard.file(sq), r = Bitboard.rank(sq);
+        for (int[] step : steps) {
+            int nf = f + step[0], nr = r + step[1];
+            if (nf >= 0 && nf < 8 && nr >= 0 && nr < 8) {
+                mask |= Bitboard.bit(Bitboard.square(nf, nr));
+            }
+        }
+        return mask;
+    }
+
+    /*
+     * Helper function for the static initializer. Walks each ray from a square until it
+     * hits a blocker (inclusive) or the edge. If relevantOnly is set, the last square of
+     * each ray is left out, since a piece there never blocks anything further.
+     */
+    private static long slide(int sq, int[][] dirs, long occupied, boolean relevantOnly) {
+        long attacks = 0;
+        int f = Bitboard.file(sq), r = Bitboard.rank(sq);
+        for (int[] dir : dirs) {
+            int nf = f + dir[0], nr = r + dir[1];
+            while (nf >= 0 && nf < 8 && nr >= 0 && nr < 8) {
+                int next = Bitboard.square(nf, nr);
+                boolean edge = nf + dir[0] < 0 || nf + dir[0] > 7 || nr + dir[1] < 0 || nr + dir[1] > 7;
+                if (relevantOnly && edge) {
+                    break;
+                }
+                attacks |= Bitboard.bit(next);
+                if ((occupied & Bitboard.bit(next)) != 0) {
+                    break;
+                }
+                nf += dir[0];
+                nr += dir[1];
+            }
+        }
+        return attacks;
+    }
+
+    /*
+     * Helper function for the static initializer. Computes the relevant blocker mask of one
+     * square and fills its part of the table, storing the attacks for every blocker subset
+     * at the slot its magic product points to.
+     */
+    private static void initMagic(int sq, int[][] dirs, long[] masks, long[] magics, int[] shifts,
+                                  long[] table, int offset) {
+        long mask = slide(sq, dirs, 0, true);
+        int bits = Long.bitCount(mask);
+        masks[sq] = mask;
+        shifts[sq] = 64 - bits;
+        long subset = 0;
+        do { // enumerate all subsets of the mask (Carry-Rippler)
+            int index = (int) ((subset * magics[sq]) >>> (64 - bits));
+            table[offset + index] = slide(sq, dirs, subset, false);
+            subset = (subset - mask) & mask;
+        } while (subset != 0);
+    }
+} // end Attacks class
@@ -0,0 +1,96 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Bitboard helper class. A bitboard is a 64-bit long where
+ * each bit stands for one square of the chess board. Squares
+ * are numbered 0 (a1) through 63 (h8), going across each rank
+ * from the a-file to the h-file before moving up a rank.
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+public final class Bitboard {
+    /*
+     * Masks for the outer files and ranks of the board.
+     */
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long RANK_1 = 0xFFL;
+    public static final long RANK_2 = RANK_1 << 8;
+    public static final long RANK_4 = RANK_1 << 24;
+    public static final long RANK_5 = RANK_1 << 32;
+    public static final long RANK_7 = RANK_1 << 48;
+    public static final long RANK_8 = RANK_1 << 56;
+    /*
+     * Value used for "no square", e.g. when there is no en passant square.
+     */
+    public static final int NO_SQUARE = -1;
+
+    private Bitboard() {
+    }
+
+    /*
+     * bit returns a bitboard with only the given square set.
+     */
+    public static long bit(int sq) {
+        return 1L << sq;
+    }
+
+    /*
+     * square returns the index of the square on the given file (0-7) and rank (0-7).
+     */
+    public static int square(int file, int rank) {
+        return (rank << 3) | file;
+    }
+
+    /*
+     * file returns the file (0 = a, 7 = h) of the given square.
+     */
+    public static int file(int sq) {
+        return sq & 7;
+    }
+
+    /*
+     * rank returns the rank (0 = 1st rank, 7 = 8th rank) of the given square.
+     */
+    public static int rank(int sq) {
+        return sq >>> 3;
+    }
+
+    /*
+     * first returns the lowest set square of a non-empty bitboard.
+     */
+    public static int first(long bb) {
+        return Long.numberOfTrailingZeros(bb);
+    }
+
+    /*
+     * count returns the number of set squares of a bitboard.
+     */
+    public static int count(long bb) {
+        return Long.bitCount(bb);
+    }
+
+    /*
+     * squareName returns the algebraic name of a square, e.g. "e4".
+     */
+    public static String squareName(int sq) {
+        return "" + (char) ('a' + file(sq)) + (char) ('1' + rank(sq));
+    }
+
+    /*
+     * parseSquare returns the square for an algebraic name like "e4", or NO_SQUARE
+     * if the name is not a square.
+     */
+    public static int parseSquare(CharSequence name, int offset) {
+        if (offset + 1 >= name.length()) {
+            return NO_SQUARE;
+        }
+        int f = name.charAt(offset) - 'a';
+        int r = name.charAt(offset + 1) - '1';
+        if (f < 0 || f > 7 || r < 0 || r > 7) {
+            return NO_SQUARE;
+        }
+        return square(f, r);
+    }
+} // end Bitboard class
@@ -0,0 +1,151 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Chess clock for both players. Time is measured with
+ * System.nanoTime and charged to the player to move when they
+ * press the clock, in milliseconds, so a clock is never off by
+ * how often a display happens to refresh it, and a move made
+ * in a fraction of a second costs exactly that.
+ *
+ * Besides plain sudden death, two ways of giving time back
+ * are supported:
+ *      FISCHER    the increment is added after every move
+ *      BRONSTEIN  the time a move took is given back, up to
+ *                 the delay, so a fast move costs nothing
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+import java.util.function.LongSupplier;
+
+public final class GameClock {
+    /*
+     * Modes.
+     */
+    public static final int SUDDEN_DEATH = 0;
+    public static final int FISCHER = 1;
+    public static final int BRONSTEIN = 2;
+
+    private final long[] remainingNanos = new long[2];
+    private final int mode;
+    private final long bonusNanos;
+    private final LongSupplier nanoTime;
+    /*
+     * Side whose clock is running (-1 if none), and when it was started.
+     */
+    private int running = -1;
+    private long startedAt;
+
+    /*
+     * GameClock constructor. Both players get the given time in milliseconds, and the
+     * mode's increment or delay in milliseconds (ignored for SUDDEN_DEATH).
+     */
+    public GameClock(long initialMs, int mode, long bonusMs) {
+        this(initialMs, mode, bonusMs, System::nanoTime);
+    }
+
+    /*
+     * GameClock constructor with its own time source in nanoseconds, e.g. for tests.
+     */
+    public GameClock(long initialMs, int mode, long bonusMs, LongSupplier nanoTime) {
+        if (initialMs <= 0 || bonusMs < 0 || mode < SUDDEN_DEATH || mode > BRONSTEIN) {
+            throw new IllegalArgumentException("Invalid time control: " + initialMs + " ms, mode " + mode
+                    + ", " + bonusMs + " ms");
+        }
+        remainingNanos[Position.WHITE] = initialMs * 1_000_000L;
+        remainingNanos[Position.BLACK] = initialMs * 1_000_000L;
+        this.mode = mode;
+        this.bonusNanos = (mode == SUDDEN_DEATH) ? 0 : bonusMs * 1_000_000L;
+        this.nanoTime = nanoTime;
+    }
+
+    /*
+     * start starts the clock of the given side (Position.WHITE or BLACK), stopping the
+     * other one without charging or crediting it.
+     */
+    public void start(int side) {
+        running = side;
+        startedAt = nanoTime.getAsLong();
+    }
+
+    /*
+     * press ends the move of the side whose clock is running: charges the time it took,
+     * gives back the increment or delay, and starts the other side's clock. With no clock
+     * running, starts the clock of the given side to move.
+     */
+    public void press(int sideToMove) {
+        if (running < 0) {
+            start(sideToMove);
+            return;
+        }
+        long now = nanoTime.getAsLong();
+        long used = now - startedAt;
+        long remaining = remainingNanos[running] - used;
+        if (remaining > 0) {
+            if (mode == FISCHER) {
+                remaining += bonusNanos;
+            } else if (mode == BRONSTEIN) {
+                remaining += Math.min(used, bonusNanos);
+            }
+        }
+        remainingNanos[running] = remaining;
+        running ^= 1;
+        startedAt = now;
+    }
+
+    /*
+     * stop stops the running clock, charging the time used so far.
+     */
+    public void stop() {
+        if (running >= 0) {
+            remainingNanos[running] -= nanoTime.getAsLong() - startedAt;
+            running = -1;
+        }
+    }
+
+    /*
+     * remainingMillis returns the time left on the given side's clock right now, never
+     * less than 0.
+     */
+    public long remainingMillis(int side) {
+        long remaining = remainingNanos[side];
+        if (side == running) {
+            remaining -= nanoTime.getAsLong() - startedAt;
+        }
+        return Math.max(0, remaining / 1_000_000L);
+    }
+
+    /*
+     * isFlagged checks if the given side has run out of time.
+     */
+    public boolean isFlagged(int side) {
+        return remainingMillis(side) <= 0;
+    }
+
+    /*
+     * Getters for the time control.
+     */
+    public int mode() {
+        return mode;
+    }
+
+    public long bonusMillis() {
+        return bonusNanos / 1_000_000L;
+    }
+
+    public int runningSide() {
+        return running;
+    }
+
+    /*
+     * format returns a clock reading for display: m:ss, or s.t (with tenths) under ten
+     * seconds, when every tenth counts.
+     */
+    public static String format(long millis) {
+        if (millis < 10_000) {
+            return String.format("%d.%d", millis / 1000, (millis / 100) % 10);
+        }
+        long seconds = millis / 1000;
+        return String.format("%02d:%02d", seconds / 60, seconds % 60);
+    }
+} // end GameClock class
@@ -0,0 +1,47 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Enum for the state of a game as far as the board alone can
+ * tell: still going, or ended by checkmate, stalemate, a
+ * lack of material to ever deliver checkmate, the third
+ * repetition of a position, or the 50-move rule.
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+public enum GameStatus {
+    ONGOING,
+    CHECKMATE,
+    STALEMATE,
+    INSUFFICIENT_MATERIAL,
+    THREEFOLD_REPETITION,
+    FIFTY_MOVE_RULE;
+
+    /*
+     * of returns the status of the given position, from the point of view of the side to
+     * move (so CHECKMATE means the side to move has lost). Stops looking for moves at the
+     * first legal one.
+     */
+    public static GameStatus of(Position pos) {
+        if (!MoveGenerator.hasLegalMove(pos)) {
+            return pos.isInCheck(pos.sideToMove()) ? CHECKMATE : STALEMATE;
+        }
+        if (pos.isInsufficientMaterial()) {
+            return INSUFFICIENT_MATERIAL;
+        }
+        if (pos.isRepetition(2)) {
+            return THREEFOLD_REPETITION;
+        }
+        if (pos.isFiftyMoveDraw()) {
+            return FIFTY_MOVE_RULE;
+        }
+        return ONGOING;
+    }
+
+    /*
+     * isGameOver checks if this status ends the game.
+     */
+    public boolean isGameOver() {
+        return this != ONGOING;
+    }
+}
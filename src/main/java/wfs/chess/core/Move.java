@@ -0,0 +1,138 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Helper class for moves packed into a single int, so move
+ * lists are plain int arrays and making a move never has to
+ * allocate. Layout, from the lowest bit:
+ *
+ *      bits  0-5   from square
+ *      bits  6-11  to square
+ *      bits 12-15  moving piece code
+ *      bits 16-19  captured piece code (15 = none)
+ *      bits 20-22  promotion piece type (0 = none)
+ *      bits 23-24  special flag (castling, en passant, double push)
+ *
+ * For storage (transposition table, game files) a move also
+ * has a compact 16-bit form holding only what the position
+ * cannot tell: from (6 bits), to (6), promotion piece (2) and
+ * a flag (2) for promotions, en passant and castling. expand
+ * turns it back into a full move in the position it was
+ * played from.
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+public final class Move {
+    /*
+     * Special move flags.
+     */
+    public static final int NORMAL = 0;
+    public static final int CASTLING = 1;
+    public static final int EN_PASSANT = 2;
+    public static final int DOUBLE_PUSH = 3;
+    /*
+     * Value used for "no move".
+     */
+    public static final int NONE = 0;
+    /*
+     * Flags of the compact 16-bit form.
+     */
+    private static final int SHORT_PROMOTION = 1;
+    private static final int SHORT_EN_PASSANT = 2;
+    private static final int SHORT_CASTLING = 3;
+
+    private Move() {
+    }
+
+    /*
+     * of packs the parts of a move into an int.
+     */
+    public static int of(int from, int to, int piece, int captured, int promotion, int flag) {
+        return from | (to << 6) | (piece << 12) | ((captured & 15) << 16) | (promotion << 20) | (flag << 23);
+    }
+
+    /*
+     * Getters for the parts of a move.
+     */
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    public static int piece(int move) {
+        return (move >>> 12) & 15;
+    }
+
+    public static int captured(int move) {
+        int c = (move >>> 16) & 15;
+        return c == 15 ? Position.NO_PIECE : c;
+    }
+
+    public static int promotion(int move) {
+        return (move >>> 20) & 7;
+    }
+
+    public static int flag(int move) {
+        return (move >>> 23) & 3;
+    }
+
+    public static boolean isCapture(int move) {
+        return ((move >>> 16) & 15) != 15;
+    }
+
+    /*
+     * toShort returns the compact 16-bit form of a move.
+     */
+    public static int toShort(int move) {
+        int compact = from(move) | (to(move) << 6);
+        if (promotion(move) != 0) {
+            compact |= ((promotion(move) - Position.KNIGHT) << 12) | (SHORT_PROMOTION << 14);
+        } else if (flag(move) == EN_PASSANT) {
+            compact |= SHORT_EN_PASSANT << 14;
+        } else if (flag(move) == CASTLING) {
+            compact |= SHORT_CASTLING << 14;
+        }
+        return compact;
+    }
+
+    /*
+     * expand returns the full move for a compact move played from the given position, or
+     * NONE if the side to move has no piece on its from square. The compact move is not
+     * otherwise checked for legality.
+     */
+    public static int expand(Position pos, int compact) {
+        if (compact == NONE) {
+            return NONE;
+        }
+        int from = compact & 63, to = (compact >>> 6) & 63, kind = (compact >>> 14) & 3;
+        int pc = pos.pieceAt(from);
+        if (pc == Position.NO_PIECE || Position.colorOf(pc) != pos.sideToMove()) {
+            return NONE;
+        }
+        switch (kind) {
+            case SHORT_PROMOTION:
+                return of(from, to, pc, pos.pieceAt(to), ((compact >>> 12) & 3) + Position.KNIGHT, NORMAL);
+            case SHORT_EN_PASSANT:
+                return of(from, to, pc, pos.pieceAt(to ^ 8), 0, EN_PASSANT);
+            case SHORT_CASTLING:
+                return of(from, to, pc, Position.NO_PIECE, 0, CASTLING);
+            default:
+                boolean doublePush = Position.typeOf(pc) == Position.PAWN && Math.abs(to - from) == 16;
+                return of(from, to, pc, pos.pieceAt(to), 0, doublePush ? DOUBLE_PUSH : NORMAL);
+        }
+    }
+
+    /*
+     * toUci returns the move in the long algebraic notation used by UCI, e.g. "e2e4" or "e7e8q".
+     */
+    public static String toUci(int move) {
+        String s = Bitboard.squareName(from(move)) + Bitboard.squareName(to(move));
+        if (promotion(move) != 0) {
+            s += "pnbrqk".charAt(promotion(move));
+        }
+        return s;
+    }
+} // end Move class
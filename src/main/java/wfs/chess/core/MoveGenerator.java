@@ -0,0 +1,338 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Legal move generator for the headless Position. Instead of
+ * trying every move and looking for check afterwards, the
+ * generator works out up front:
+ *
+ *      - which squares the enemy attacks (for king moves and
+ *        castling through check),
+ *      - a check mask of squares that block or capture a single
+ *        checker (only king moves are legal in double check),
+ *      - which of our pieces are pinned to our king, and the
+ *        line each pinned piece may still move along.
+ *
+ * Every move written to the move list is therefore legal. En
+ * passant is the one case checked by looking at the board
+ * after the capture, since it removes two pieces from a rank.
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+import static wfs.chess.core.Position.*;
+
+public final class MoveGenerator {
+    /*
+     * Maximum number of legal moves in any chess position (the known maximum is 218).
+     */
+    public static final int MAX_MOVES = 256;
+    /*
+     * Scratch buffer per thread for the pawn moves looked at by hasLegalMove. At most
+     * 8 pawns with 12 moves each (promotions on both captures and the push).
+     */
+    private static final ThreadLocal<int[]> PAWN_BUFFER = ThreadLocal.withInitial(() -> new int[96]);
+    /*
+     * Scratch move list per thread for parseUci.
+     */
+    private static final ThreadLocal<int[]> MOVE_BUFFER = ThreadLocal.withInitial(() -> new int[MAX_MOVES]);
+
+    private MoveGenerator() {
+    }
+
+    /*
+     * generate writes all legal moves of the position into the given array, starting at
+     * the given index, and returns the index after the last move written.
+     */
+    public static int generate(Position pos, int[] moves, int start) {
+        return generate(pos, moves, start, false);
+    }
+
+    /*
+     * generateCaptures writes only the legal captures (en passant included) and Queen
+     * promotions into the given array, for searches that only look at tactical moves.
+     * Returns the index after the last move written.
+     */
+    public static int generateCaptures(Position pos, int[] moves, int start) {
+        return generate(pos, moves, start, true);
+    }
+
+    /*
+     * Helper function for generate and generateCaptures.
+     */
+    private static int generate(Position pos, int[] moves, int start, boolean capturesOnly) {
+        int us = pos.sideToMove(), them = us ^ 1;
+        long own = pos.colorOccupancy(us), enemy = pos.colorOccupancy(them), occ = pos.occupied();
+        int king = pos.kingSquare(us);
+        int n = start;
+        long allowed = capturesOnly ? enemy : ~own; // squares pieces may move to
+
+        // King moves, to squares the enemy would not attack once the king has left its square
+        long danger = attackedSquares(pos, them, occ ^ Bitboard.bit(king));
+        long targets = Attacks.king(king) & allowed & ~danger;
+        n = addMoves(pos, king, targets, moves, n);
+
+        long checkers = pos.attackersTo(king, occ) & enemy;
+        int checks = Long.bitCount(checkers);
+        if (checks > 1) { // double check, only the king can move
+            return n;
+        }
+        long checkMask = (checks == 0) ? ~0L : checkers | Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+
+        long pinned = pinnedPieces(pos, us, king);
+
+        // Knights, a pinned knight can never move
+        long bb = pos.pieces(us, KNIGHT) & ~pinned;
+        while (bb != 0) {
+            int from = Long.numberOfTrailingZeros(bb);
+            bb &= bb - 1;
+            n = addMoves(pos, from, Attacks.knight(from) & allowed & checkMask, moves, n);
+        }
+        // Sliders, pinned ones stay on the line through their king
+        bb = pos.pieces(us, BISHOP) | pos.pieces(us, ROOK) | pos.pieces(us, QUEEN);
+        while (bb != 0) {
+            int from = Long.numberOfTrailingZeros(bb);
+            bb &= bb - 1;
+            int type = typeOf(pos.pieceAt(from));
+            long attacks = (type == BISHOP) ? Attacks.bishop(from, occ)
+                    : (type == ROOK) ? Attacks.rook(from, occ) : Attacks.queen(from, occ);
+            targets = attacks & allowed & checkMask;
+            if ((pinned & Bitboard.bit(from)) != 0) {
+                targets &= Attacks.line(king, from);
+            }
+            n = addMoves(pos, from, targets, moves, n);
+        }
+        n = generatePawnMoves(pos, us, king, pinned, checkMask, capturesOnly, moves, n);
+        if (checks == 0 && !capturesOnly) {
+            n = generateCastling(pos, us, king, danger, moves, n);
+        }
+        return n;
+    }
+
+    /*
+     * hasLegalMove checks if the side to move has at least one legal move. Follows the same
+     * steps as generate, but stops at the first legal move instead of listing them all, so
+     * checkmate and stalemate can be tested cheaply after every move.
+     */
+    public static boolean hasLegalMove(Position pos) {
+        int us = pos.sideToMove(), them = us ^ 1;
+        long own = pos.colorOccupancy(us), enemy = pos.colorOccupancy(them), occ = pos.occupied();
+        int king = pos.kingSquare(us);
+
+        long danger = attackedSquares(pos, them, occ ^ Bitboard.bit(king));
+        if ((Attacks.king(king) & ~own & ~danger) != 0) {
+            return true;
+        }
+        long checkers = pos.attackersTo(king, occ) & enemy;
+        int checks = Long.bitCount(checkers);
+        if (checks > 1) {
+            return false;
+        }
+        long checkMask = (checks == 0) ? ~0L : checkers | Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+        long pinned = pinnedPieces(pos, us, king);
+
+        long bb = pos.pieces(us, KNIGHT) & ~pinned;
+        while (bb != 0) {
+            if ((Attacks.knight(Long.numberOfTrailingZeros(bb)) & ~own & checkMask) != 0) {
+                return true;
+            }
+            bb &= bb - 1;
+        }
+        bb = pos.pieces(us, BISHOP) | pos.pieces(us, ROOK) | pos.pieces(us, QUEEN);
+        while (bb != 0) {
+            int from = Long.numberOfTrailingZeros(bb);
+            bb &= bb - 1;
+            int type = typeOf(pos.pieceAt(from));
+            long attacks = (type == BISHOP) ? Attacks.bishop(from, occ)
+                    : (type == ROOK) ? Attacks.rook(from, occ) : Attacks.queen(from, occ);
+            long targets = attacks & ~own & checkMask;
+            if ((pinned & Bitboard.bit(from)) != 0) {
+                targets &= Attacks.line(king, from);
+            }
+            if (targets != 0) {
+                return true;
+            }
+        }
+        // Pawns are rare last resorts, so reuse the generator for them (castling needs a free
+        // king square, which was already ruled out above)
+        int[] pawnMoves = PAWN_BUFFER.get();
+        return generatePawnMoves(pos, us, king, pinned, checkMask, false, pawnMoves, 0) > 0;
+    }
+
+    /*
+     * parseUci returns the legal move of the position written in UCI notation (e.g. "e2e4",
+     * "e7e8q"), or Move.NONE if there is no such legal move.
+     */
+    public static int parseUci(Position pos, String uci) {
+        int[] moves = MOVE_BUFFER.get();
+        int n = generate(pos, moves, 0);
+        for (int i = 0; i < n; i++) {
+            if (Move.toUci(moves[i]).equals(uci)) {
+                return moves[i];
+            }
+        }
+        return Move.NONE;
+    }
+
+    /*
+     * pinnedPieces returns the pieces of the given color pinned against their king by
+     * enemy sliders.
+     */
+    public static long pinnedPieces(Position pos, int us, int king) {
+        int them = us ^ 1;
+        long occ = pos.occupied(), own = pos.colorOccupancy(us);
+        long pinned = 0;
+        long snipers = (Attacks.rook(king, 0) & (pos.pieces(them, ROOK) | pos.pieces(them, QUEEN)))
+                | (Attacks.bishop(king, 0) & (pos.pieces(them, BISHOP) | pos.pieces(them, QUEEN)));
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = Attacks.between(king, sniper) & occ;
+            if ((blockers & (blockers - 1)) == 0 && (blockers & own) != 0) {
+                pinned |= blockers;
+            }
+        }
+        return pinned;
+    }
+
+    /*
+     * attackedSquares returns every square attacked by the given color, with sliders
+     * seeing through the given occupancy.
+     */
+    public static long attackedSquares(Position pos, int color, long occ) {
+        long attacked = 0;
+        long pawns = pos.pieces(color, PAWN);
+        if (color == WHITE) {
+            attacked |= ((pawns & ~Bitboard.FILE_A) << 7) | ((pawns & ~Bitboard.FILE_H) << 9);
+        } else {
+            attacked |= ((pawns & ~Bitboard.FILE_A) >>> 9) | ((pawns & ~Bitboard.FILE_H) >>> 7);
+        }
+        long bb = pos.pieces(color, KNIGHT);
+        while (bb != 0) {
+            attacked |= Attacks.knight(Long.numberOfTrailingZeros(bb));
+            bb &= bb - 1;
+        }
+        bb = pos.pieces(color, BISHOP) | pos.pieces(color, QUEEN);
+        while (bb != 0) {
+            attacked |= Attacks.bishop(Long.numberOfTrailingZeros(bb), occ);
+            bb &= bb - 1;
+        }
+        bb = pos.pieces(color, ROOK) | pos.pieces(color, QUEEN);
+        while (bb != 0) {
+            attacked |= Attacks.rook(Long.numberOfTrailingZeros(bb), occ);
+            bb &= bb - 1;
+        }
+        return attacked | Attacks.king(pos.kingSquare(color));
+    }
+
+    /*
+     * Helper function for generate. Adds a move from one square to each target square.
+     */
+    private static int addMoves(Position pos, int from, long targets, int[] moves, int n) {
+        int pc = pos.pieceAt(from);
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            moves[n++] = Move.of(from, to, pc, pos.pieceAt(to), 0, Move.NORMAL);
+        }
+        return n;
+    }
+
+    /*
+     * Helper function for generate. Adds pushes, double pushes, captures, promotions and
+     * en passant captures for each pawn. With capturesOnly, quiet pushes are left out and
+     * pawns only promote to a Queen.
+     */
+    private static int generatePawnMoves(Position pos, int us, int king, long pinned, long checkMask,
+                                         boolean capturesOnly, int[] moves, int n) {
+        int them = us ^ 1;
+        int pc = piece(us, PAWN);
+        int forward = (us == WHITE) ? 8 : -8;
+        int startRank = (us == WHITE) ? 1 : 6;
+        int lastRank = (us == WHITE) ? 7 : 0;
+        int lowestPromotion = capturesOnly ? QUEEN : KNIGHT;
+        long occ = pos.occupied(), enemy = pos.colorOccupancy(them);
+        int ep = pos.epSquare();
+        long bb = pos.pieces(us, PAWN);
+        while (bb != 0) {
+            int from = Long.numberOfTrailingZeros(bb);
+            bb &= bb - 1;
+            long allowed = checkMask;
+            if ((pinned & Bitboard.bit(from)) != 0) {
+                allowed &= Attacks.line(king, from);
+            }
+            long targets = 0;
+            int push = from + forward;
+            if ((occ & Bitboard.bit(push)) == 0 && (!capturesOnly || Bitboard.rank(push) == lastRank)) {
+                targets |= Bitboard.bit(push);
+                int doublePush = push + forward;
+                if (!capturesOnly && Bitboard.rank(from) == startRank && (occ & Bitboard.bit(doublePush)) == 0
+                        && (allowed & Bitboard.bit(doublePush)) != 0) {
+                    moves[n++] = Move.of(from, doublePush, pc, NO_PIECE, 0, Move.DOUBLE_PUSH);
+                }
+            }
+            targets |= Attacks.pawn(us, from) & enemy;
+            targets &= allowed;
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                int captured = pos.pieceAt(to);
+                if (Bitboard.rank(to) == lastRank) {
+                    for (int promo = QUEEN; promo >= lowestPromotion; promo--) {
+                        moves[n++] = Move.of(from, to, pc, captured, promo, Move.NORMAL);
+                    }
+                } else {
+                    moves[n++] = Move.of(from, to, pc, captured, 0, Move.NORMAL);
+                }
+            }
+            if (ep != Bitboard.NO_SQUARE && (Attacks.pawn(us, from) & Bitboard.bit(ep)) != 0
+                    && isLegalEnPassant(pos, us, king, from, ep, checkMask)) {
+                moves[n++] = Move.of(from, ep, pc, piece(them, PAWN), 0, Move.EN_PASSANT);
+            }
+        }
+        return n;
+    }
+
+    /*
+     * Helper function for generatePawnMoves. En passant removes both pawns from their
+     * rank, so look at the board after the capture for sliders hitting the king.
+     */
+    private static boolean isLegalEnPassant(Position pos, int us, int king, int from, int ep, long checkMask) {
+        int captured = ep ^ 8;
+        if ((checkMask & (Bitboard.bit(ep) | Bitboard.bit(captured))) == 0) { // does not resolve a check
+            return false;
+        }
+        int them = us ^ 1;
+        long occ = (pos.occupied() ^ Bitboard.bit(from) ^ Bitboard.bit(captured)) | Bitboard.bit(ep);
+        long rooks = pos.pieces(them, ROOK) | pos.pieces(them, QUEEN);
+        long bishops = pos.pieces(them, BISHOP) | pos.pieces(them, QUEEN);
+        return (Attacks.rook(king, occ) & rooks) == 0 && (Attacks.bishop(king, occ) & bishops) == 0;
+    }
+
+    /*
+     * Helper function for generate. Adds castling moves when the rights remain, king and
+     * rook stand on their home squares, the squares between them are empty, and the king
+     * does not pass through or land on an attacked square. Only called when not in check.
+     */
+    private static int generateCastling(Position pos, int us, int king, long danger, int[] moves, int n) {
+        int rights = pos.castlingRights();
+        int kingside = (us == WHITE) ? WHITE_KINGSIDE : BLACK_KINGSIDE;
+        int queenside = (us == WHITE) ? WHITE_QUEENSIDE : BLACK_QUEENSIDE;
+        int pc = piece(us, KING);
+        long occ = pos.occupied();
+        long rooks = pos.pieces(us, ROOK);
+        if (king != ((us == WHITE) ? 4 : 60)) {
+            return n;
+        }
+        if ((rights & kingside) != 0 && (rooks & Bitboard.bit(king + 3)) != 0
+                && (Attacks.between(king, king + 3) & occ) == 0
+                && (danger & (Bitboard.bit(king + 1) | Bitboard.bit(king + 2))) == 0) {
+            moves[n++] = Move.of(king, king + 2, pc, NO_PIECE, 0, Move.CASTLING);
+        }
+        if ((rights & queenside) != 0 && (rooks & Bitboard.bit(king - 4)) != 0
+                && (Attacks.between(king, king - 4) & occ) == 0
+                && (danger & (Bitboard.bit(king - 1) | Bitboard.bit(king - 2))) == 0) {
+            moves[n++] = Move.of(king, king - 2, pc, NO_PIECE, 0, Move.CASTLING);
+        }
+        return n;
+    }
+} // end MoveGenerator class
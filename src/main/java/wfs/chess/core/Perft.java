@@ -0,0 +1,145 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Perft ("performance test") counts the leaf nodes of the
+ * legal move tree to a fixed depth. The counts for well known
+ * positions are published, so any mistake in move generation
+ * or make/unmake shows up as a wrong number, and the time it
+ * takes measures the speed of the move generator.
+ *
+ * Run from the command line:
+ *      Perft --verify          run the standard suite, exit 1 on a mismatch
+ *      Perft <depth> [fen]     divide: node count below each root move
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+import java.util.Arrays;
+
+public final class Perft {
+    /*
+     * Standard perft positions as {name, FEN, depth, expected nodes}.
+     */
+    public static final String[][] SUITE = {
+        {"start", Position.START_FEN, "5", "4865609"},
+        {"kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", "4", "4085603"},
+        {"endgame", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", "6", "11030083"},
+        {"promotions", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", "5", "15833292"},
+        {"promotions-mirrored", "r2q1rk1/pP1p2pp/Q4n2/bbp1p3/Np6/1B3NBn/pPPP1PPP/R3K2R b KQ - 0 1", "5", "15833292"},
+        {"talkchess", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", "4", "2103487"},
+        {"middlegame", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", "4", "3894594"},
+        {"castling-rights", "r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1", "5", "7594526"},
+        {"illegal-ep-1", "3k4/3p4/8/K1P4r/8/8/8/8 b - - 0 1", "6", "1134888"},
+        {"illegal-ep-2", "8/8/4k3/8/2p5/8/B2P2K1/8 w - - 0 1", "6", "1015133"},
+        {"ep-check-pin", "8/8/1k6/2b5/2pP4/8/5K2/8 b - d3 0 1", "6", "1440467"},
+        {"short-castle-check", "5k2/8/8/8/8/8/8/4K2R w K - 0 1", "6", "661072"},
+        {"long-castle-check", "3k4/8/8/8/8/8/8/R3K3 w Q - 0 1", "6", "803711"},
+        {"castle-rights-lost", "r3k2r/1b4bq/8/8/8/8/7B/R3K2R w KQkq - 0 1", "4", "1274206"},
+        {"castling-prevented", "r3k2r/8/3Q4/8/8/5q2/8/R3K2R b KQkq - 0 1", "4", "1720476"},
+        {"promote-out-of-check", "2K2r2/4P3/8/8/8/8/8/3k4 w - - 0 1", "6", "3821001"},
+        {"discovered-check", "8/8/1P2K3/8/2n5/1q6/8/5k2 b - - 0 1", "5", "1004658"},
+        {"promote-to-check", "4k3/1P6/8/8/8/8/K7/8 w - - 0 1", "6", "217342"},
+        {"underpromote-to-check", "8/P1k5/K7/8/8/8/8/8 w - - 0 1", "6", "92683"},
+        {"self-stalemate", "K1k5/8/P7/8/8/8/8/8 w - - 0 1", "6", "2217"},
+        {"stalemate-checkmate", "8/k1P5/8/1K6/8/8/8/8 w - - 0 1", "7", "567584"},
+        {"double-check", "8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1", "4", "23527"},
+    };
+
+    /*
+     * Move buffers, one per remaining depth, so counting never allocates.
+     */
+    private final int[][] buffers;
+
+    /*
+     * Perft constructor. Allocates move buffers for searches up to the given depth.
+     */
+    public Perft(int maxDepth) {
+        buffers = new int[maxDepth + 1][MoveGenerator.MAX_MOVES];
+    }
+
+    /*
+     * count returns the number of leaf nodes of the legal move tree of the given depth.
+     * The position is left as it was.
+     */
+    public long count(Position pos, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        int[] moves = buffers[depth];
+        int n = MoveGenerator.generate(pos, moves, 0);
+        if (depth == 1) { // every generated move is legal, so no need to play the last ply
+            return n;
+        }
+        long nodes = 0;
+        for (int i = 0; i < n; i++) {
+            pos.makeMove(moves[i]);
+            nodes += count(pos, depth - 1);
+            pos.unmakeMove(moves[i]);
+        }
+        return nodes;
+    }
+
+    /*
+     * divide prints the node count below each root move, which helps find the move
+     * where a wrong count comes from. Returns the total.
+     */
+    public long divide(Position pos, int depth) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int n = MoveGenerator.generate(pos, moves, 0);
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            pos.makeMove(moves[i]);
+            long nodes = count(pos, depth - 1);
+            pos.unmakeMove(moves[i]);
+            System.out.println(Move.toUci(moves[i]) + ": " + nodes);
+            total += nodes;
+        }
+        System.out.println();
+        System.out.println("Moves: " + n);
+        System.out.println("Nodes: " + total);
+        return total;
+    }
+
+    /*
+     * verify runs the standard suite, printing nodes and nodes/sec for each position.
+     * Returns false if any count differs from the expected one.
+     */
+    public static boolean verify() {
+        boolean ok = true;
+        Perft perft = new Perft(8);
+        Position pos = new Position();
+        for (String[] test : SUITE) {
+            pos.setFen(test[1]);
+            int depth = Integer.parseInt(test[2]);
+            long expected = Long.parseLong(test[3]);
+            long start = System.nanoTime();
+            long nodes = perft.count(pos, depth);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            boolean match = (nodes == expected);
+            ok &= match;
+            System.out.println(String.format("%-22s depth %d  %12d nodes  %10.0f nodes/sec  %s", test[0], depth,
+                    nodes, nodes / Math.max(seconds, 1e-9), match ? "OK" : "MISMATCH (expected " + expected + ")"));
+        }
+        return ok;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0 || args[0].equals("--verify")) {
+            if (!verify()) {
+                System.out.println("Perft FAILED");
+                System.exit(1);
+            }
+            System.out.println("Perft passed");
+            return;
+        }
+        int depth = Integer.parseInt(args[0]);
+        Position pos = new Position();
+        if (args.length > 1) {
+            pos.setFen(String.join(" ", Arrays.copyOfRange(args, 1, args.length)));
+        }
+        long start = System.nanoTime();
+        long nodes = new Perft(depth).divide(pos, depth);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format("Time: %.3f s (%.0f nodes/sec)", seconds, nodes / Math.max(seconds, 1e-9)));
+    }
+} // end Perft class
@@ -0,0 +1,780 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Headless chess position built on bitboards. Holds one
+ * bitboard per piece (6 types x 2 colors), a square-to-piece
+ * mailbox, the side to move, castling rights, the en passant
+ * square and the move clocks. Does not depend on Swing, so
+ * the rules can run on servers, in tools and on many threads
+ * at once (one Position per thread).
+ *
+ * Pieces are coded as color * 6 + type, so white pieces are
+ * 0-5 and black pieces are 6-11. Squares follow Bitboard
+ * (0 = a1, 63 = h8).
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+import java.util.Arrays;
+
+public final class Position {
+    /*
+     * Colors.
+     */
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+    /*
+     * Piece types.
+     */
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+    /*
+     * Value of an empty square in the mailbox.
+     */
+    public static final int NO_PIECE = -1;
+    /*
+     * Castling right flags.
+     */
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+    /*
+     * Standard starting position.
+     */
+    public static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    /*
+     * FEN letters for each piece code.
+     */
+    private static final String PIECE_CHARS = "PNBRQKpnbrqk";
+    /*
+     * Castling rights that remain after a piece moves from or to each square.
+     */
+    private static final int[] CASTLING_MASK = new int[64];
+
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            CASTLING_MASK[sq] = 15;
+        }
+        CASTLING_MASK[0] &= ~WHITE_QUEENSIDE;  // a1
+        CASTLING_MASK[7] &= ~WHITE_KINGSIDE;   // h1
+        CASTLING_MASK[4] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE); // e1
+        CASTLING_MASK[56] &= ~BLACK_QUEENSIDE; // a8
+        CASTLING_MASK[63] &= ~BLACK_KINGSIDE;  // h8
+        CASTLING_MASK[60] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE); // e8
+    }
+
+    /*
+     * One bitboard per piece code, one per color and one for all pieces.
+     */
+    private final long[] pieces = new long[12];
+    private final long[] colors = new long[2];
+    private long occupied;
+    /*
+     * Mailbox holding the piece code on each square, or NO_PIECE.
+     */
+    private final int[] board = new int[64];
+    /*
+     * Game state that is not visible from the pieces alone.
+     */
+    private int sideToMove;
+    private int castling;
+    private int epSquare;
+    private int halfmoveClock;
+    private int fullmoveNumber;
+    /*
+     * Stack of packed irreversible state (castling, en passant square, halfmove clock)
+     * saved by makeMove, one entry per move played.
+     */
+    private int[] history = new int[256];
+    private int historyCount;
+    /*
+     * Zobrist key of this position, updated incrementally as pieces and state change.
+     */
+    private long key;
+    /*
+     * Zobrist key of the pawns and kings only, for caching pawn-structure evaluation.
+     */
+    private long pawnKey;
+    /*
+     * How many times this position occurred before, counting back only as far as the
+     * halfmove clock allows (a capture or pawn move can never be undone).
+     */
+    private int repetitions;
+    /*
+     * Keys and repetition counts of the earlier positions, indexed by ply, so unmakeMove
+     * restores them and repetitions only need a short scan once per move.
+     */
+    private long[] keyHistory = new long[256];
+    private int[] repetitionHistory = new int[256];
+    /*
+     * Sum of the middlegame and endgame piece-square values of all pieces (from White's
+     * point of view) and the game phase, updated as pieces are put, removed and moved.
+     */
+    private int mgScore;
+    private int egScore;
+    private int phase;
+
+    /*
+     * Position constructor. Sets up the standard starting position.
+     */
+    public Position() {
+        setFen(START_FEN);
+    }
+
+    /*
+     * Position constructor that sets up the position described by the given FEN.
+     */
+    public Position(CharSequence fen) {
+        setFen(fen);
+    }
+
+    /*
+     * piece returns the piece code for the given color and type.
+     */
+    public static int piece(int color, int type) {
+        return color * 6 + type;
+    }
+
+    /*
+     * typeOf returns the type (PAWN..KING) of a piece code.
+     */
+    public static int typeOf(int pc) {
+        return pc % 6;
+    }
+
+    /*
+     * colorOf returns the color (WHITE or BLACK) of a piece code.
+     */
+    public static int colorOf(int pc) {
+        return pc / 6;
+    }
+
+    /*
+     * clear empties the board and resets all state.
+     */
+    public void clear() {
+        for (int i = 0; i < 12; i++) {
+            pieces[i] = 0;
+        }
+        colors[WHITE] = 0;
+        colors[BLACK] = 0;
+        occupied = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            board[sq] = NO_PIECE;
+        }
+        sideToMove = WHITE;
+        castling = 0;
+        epSquare = Bitboard.NO_SQUARE;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+        historyCount = 0;
+        key = 0;
+        pawnKey = 0;
+        repetitions = 0;
+        mgScore = 0;
+        egScore = 0;
+        phase = 0;
+    }
+
+    /*
+     * copyFrom makes this position an exact copy of another one without allocating.
+     */
+    public void copyFrom(Position other) {
+        System.arraycopy(other.pieces, 0, pieces, 0, 12);
+        System.arraycopy(other.colors, 0, colors, 0, 2);
+        System.arraycopy(other.board, 0, board, 0, 64);
+        occupied = other.occupied;
+        sideToMove = other.sideToMove;
+        castling = other.castling;
+        epSquare = other.epSquare;
+        halfmoveClock = other.halfmoveClock;
+        fullmoveNumber = other.fullmoveNumber;
+        if (history.length < other.historyCount) {
+            history = new int[other.history.length];
+            keyHistory = new long[other.history.length];
+            repetitionHistory = new int[other.history.length];
+        }
+        System.arraycopy(other.history, 0, history, 0, other.historyCount);
+        System.arraycopy(other.keyHistory, 0, keyHistory, 0, other.historyCount);
+        System.arraycopy(other.repetitionHistory, 0, repetitionHistory, 0, other.historyCount);
+        historyCount = other.historyCount;
+        key = other.key;
+        pawnKey = other.pawnKey;
+        repetitions = other.repetitions;
+        mgScore = other.mgScore;
+        egScore = other.egScore;
+        phase = other.phase;
+    }
+
+    /*
+     * putPiece places a piece on an empty square.
+     */
+    public void putPiece(int pc, int sq) {
+        long b = 1L << sq;
+        pieces[pc] |= b;
+        colors[pc / 6] |= b;
+        occupied |= b;
+        board[sq] = pc;
+        key ^= Zobrist.PIECE_SQUARE[pc][sq];
+        if (isPawnKeyPiece(pc)) {
+            pawnKey ^= Zobrist.PIECE_SQUARE[pc][sq];
+        }
+        mgScore += PieceSquareTables.MG[pc][sq];
+        egScore += PieceSquareTables.EG[pc][sq];
+        phase += PieceSquareTables.PHASE[typeOf(pc)];
+    }
+
+    /*
+     * removePiece takes the piece off the given square and returns it.
+     */
+    public int removePiece(int sq) {
+        int pc = board[sq];
+        if (pc != NO_PIECE) {
+            long b = 1L << sq;
+            pieces[pc] &= ~b;
+            colors[pc / 6] &= ~b;
+            occupied &= ~b;
+            board[sq] = NO_PIECE;
+            key ^= Zobrist.PIECE_SQUARE[pc][sq];
+            if (isPawnKeyPiece(pc)) {
+                pawnKey ^= Zobrist.PIECE_SQUARE[pc][sq];
+            }
+            mgScore -= PieceSquareTables.MG[pc][sq];
+            egScore -= PieceSquareTables.EG[pc][sq];
+            phase -= PieceSquareTables.PHASE[typeOf(pc)];
+        }
+        return pc;
+    }
+
+    /*
+     * movePiece moves a piece from one square to an empty square.
+     */
+    public void movePiece(int from, int to) {
+        int pc = board[from];
+        long b = (1L << from) | (1L << to);
+        pieces[pc] ^= b;
+        colors[pc / 6] ^= b;
+        occupied ^= b;
+        board[from] = NO_PIECE;
+        board[to] = pc;
+        key ^= Zobrist.PIECE_SQUARE[pc][from] ^ Zobrist.PIECE_SQUARE[pc][to];
+        if (isPawnKeyPiece(pc)) {
+            pawnKey ^= Zobrist.PIECE_SQUARE[pc][from] ^ Zobrist.PIECE_SQUARE[pc][to];
+        }
+        mgScore += PieceSquareTables.MG[pc][to] - PieceSquareTables.MG[pc][from];
+        egScore += PieceSquareTables.EG[pc][to] - PieceSquareTables.EG[pc][from];
+    }
+
+    /*
+     * makeMove plays a move produced by the MoveGenerator. Only primitive state is touched:
+     * the bitboards and mailbox, and the castling rights, en passant square and halfmove
+     * clock, which are pushed on the history stack so unmakeMove can restore them.
+     */
+    public void makeMove(int move) {
+        int from = Move.from(move), to = Move.to(move), pc = Move.piece(move);
+        int captured = Move.captured(move), flag = Move.flag(move);
+
+        if (historyCount == history.length) {
+            history = Arrays.copyOf(history, history.length * 2);
+            keyHistory = Arrays.copyOf(keyHistory, history.length);
+            repetitionHistory = Arrays.copyOf(repetitionHistory, history.length);
+        }
+        keyHistory[historyCount] = key;
+        repetitionHistory[historyCount] = repetitions;
+        history[historyCount++] = castling | ((epSquare + 1) << 4) | (halfmoveClock << 11);
+        key ^= epKey() ^ Zobrist.CASTLING[castling] ^ Zobrist.SIDE; // state keys are XORed back in below
+
+        halfmoveClock++;
+        if (captured != NO_PIECE) {
+            removePiece(flag == Move.EN_PASSANT ? to ^ 8 : to); // en passant pawn sits behind the destination
+            halfmoveClock = 0;
+        }
+        movePiece(from, to);
+        if (typeOf(pc) == PAWN) {
+            halfmoveClock = 0;
+            if (Move.promotion(move) != 0) {
+                removePiece(to);
+                putPiece(piece(sideToMove, Move.promotion(move)), to);
+            }
+        }
+        if (flag == Move.CASTLING) { // bring the rook over to the other side of the king
+            if (to > from) {
+                movePiece(to + 1, to - 1);
+            } else {
+                movePiece(to - 2, to + 1);
+            }
+        }
+        castling &= CASTLING_MASK[from] & CASTLING_MASK[to];
+        epSquare = (flag == Move.DOUBLE_PUSH) ? (from + to) >>> 1 : Bitboard.NO_SQUARE;
+        if (sideToMove == BLACK) {
+            fullmoveNumber++;
+        }
+        sideToMove ^= 1;
+        key ^= Zobrist.CASTLING[castling] ^ epKey();
+        // Look for an earlier occurrence of this position, with the same side to move
+        repetitions = 0;
+        int limit = Math.min(halfmoveClock, historyCount);
+        for (int i = 4; i <= limit; i += 2) {
+            if (keyHistory[historyCount - i] == key) {
+                repetitions = repetitionHistory[historyCount - i] + 1;
+                break;
+            }
+        }
+    }
+
+    /*
+     * unmakeMove takes back the last move made with makeMove.
+     */
+    public void unmakeMove(int move) {
+        int from = Move.from(move), to = Move.to(move), pc = Move.piece(move);
+        int captured = Move.captured(move), flag = Move.flag(move);
+
+        sideToMove ^= 1;
+        if (sideToMove == BLACK) {
+            fullmoveNumber--;
+        }
+        int state = history[--historyCount];
+        long savedKey = keyHistory[historyCount];
+        repetitions = repetitionHistory[historyCount];
+        castling = state & 15;
+        epSquare = ((state >>> 4) & 127) - 1;
+        halfmoveClock = state >>> 11;
+
+        if (flag == Move.CASTLING) {
+            if (to > from) {
+                movePiece(to - 1, to + 1);
+            } else {
+                movePiece(to + 1, to - 2);
+            }
+        }
+        if (Move.promotion(move) != 0) {
+            removePiece(to);
+            putPiece(pc, to);
+        }
+        movePiece(to, from);
+        if (captured != NO_PIECE) {
+            putPiece(captured, flag == Move.EN_PASSANT ? to ^ 8 : to);
+        }
+        key = savedKey;
+    }
+
+    /*
+     * Helper function for the key updates. Pawns and kings make up the pawn key, since
+     * pawn shields depend on where the kings are.
+     */
+    private static boolean isPawnKeyPiece(int pc) {
+        int type = typeOf(pc);
+        return type == PAWN || type == KING;
+    }
+
+    /*
+     * Helper function for the key updates. Returns the en passant key, or 0 if no pawn of
+     * the side to move could capture en passant, since the position is then the same as
+     * without an en passant square.
+     */
+    private long epKey() {
+        if (epSquare == Bitboard.NO_SQUARE
+                || (Attacks.pawn(sideToMove ^ 1, epSquare) & pieces[piece(sideToMove, PAWN)]) == 0) {
+            return 0;
+        }
+        return Zobrist.EP_FILE[epSquare & 7];
+    }
+
+    /*
+     * computeKey computes the Zobrist key of this position from scratch. Only used to set
+     * up a position and to double check the incremental key.
+     */
+    public long computeKey() {
+        long k = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            if (board[sq] != NO_PIECE) {
+                k ^= Zobrist.PIECE_SQUARE[board[sq]][sq];
+            }
+        }
+        k ^= Zobrist.CASTLING[castling] ^ epKey();
+        if (sideToMove == BLACK) {
+            k ^= Zobrist.SIDE;
+        }
+        return k;
+    }
+
+    /*
+     * isRepetition checks if this position occurred at least the given number of times
+     * before (2 for a threefold repetition). Answered from the count kept by makeMove.
+     */
+    public boolean isRepetition(int times) {
+        return repetitions >= times;
+    }
+
+    /*
+     * isFiftyMoveDraw checks if 50 moves by each side went by without a capture or pawn move.
+     */
+    public boolean isFiftyMoveDraw() {
+        return halfmoveClock >= 100;
+    }
+
+    /*
+     * attackersTo returns all pieces (of both colors) attacking the given square, with
+     * sliders seeing through the given occupancy.
+     */
+    public long attackersTo(int sq, long occ) {
+        return (Attacks.pawn(BLACK, sq) & pieces[piece(WHITE, PAWN)])
+                | (Attacks.pawn(WHITE, sq) & pieces[piece(BLACK, PAWN)])
+                | (Attacks.knight(sq) & (pieces[piece(WHITE, KNIGHT)] | pieces[piece(BLACK, KNIGHT)]))
+                | (Attacks.king(sq) & (pieces[piece(WHITE, KING)] | pieces[piece(BLACK, KING)]))
+                | (Attacks.bishop(sq, occ) & (pieces[piece(WHITE, BISHOP)] | pieces[piece(BLACK, BISHOP)]
+                        | pieces[piece(WHITE, QUEEN)] | pieces[piece(BLACK, QUEEN)]))
+                | (Attacks.rook(sq, occ) & (pieces[piece(WHITE, ROOK)] | pieces[piece(BLACK, ROOK)]
+                        | pieces[piece(WHITE, QUEEN)] | pieces[piece(BLACK, QUEEN)]));
+    }
+
+    /*
+     * isAttacked checks if any piece of the given color attacks the given square. Looks
+     * outward from the square, so the cost does not depend on how many pieces are left.
+     */
+    public boolean isAttacked(int sq, int byColor) {
+        int base = byColor * 6;
+        return (Attacks.pawn(byColor ^ 1, sq) & pieces[base + PAWN]) != 0
+                || (Attacks.knight(sq) & pieces[base + KNIGHT]) != 0
+                || (Attacks.king(sq) & pieces[base + KING]) != 0
+                || (Attacks.bishop(sq, occupied) & (pieces[base + BISHOP] | pieces[base + QUEEN])) != 0
+                || (Attacks.rook(sq, occupied) & (pieces[base + ROOK] | pieces[base + QUEEN])) != 0;
+    }
+
+    /*
+     * isInCheck checks if the king of the given color is attacked.
+     */
+    public boolean isInCheck(int color) {
+        return isAttacked(kingSquare(color), color ^ 1);
+    }
+
+    /*
+     * isInsufficientMaterial checks if neither side can ever deliver checkmate: king against
+     * king, a single knight or bishop against a bare king, or only bishops all standing on
+     * squares of the same color.
+     */
+    public boolean isInsufficientMaterial() {
+        long pawnsRooksQueens = pieces[piece(WHITE, PAWN)] | pieces[piece(BLACK, PAWN)]
+                | pieces[piece(WHITE, ROOK)] | pieces[piece(BLACK, ROOK)]
+                | pieces[piece(WHITE, QUEEN)] | pieces[piece(BLACK, QUEEN)];
+        if (pawnsRooksQueens != 0) {
+            return false;
+        }
+        long knights = pieces[piece(WHITE, KNIGHT)] | pieces[piece(BLACK, KNIGHT)];
+        long bishops = pieces[piece(WHITE, BISHOP)] | pieces[piece(BLACK, BISHOP)];
+        int minors = Long.bitCount(knights | bishops);
+        if (minors <= 1) {
+            return true;
+        }
+        long darkSquares = 0xAA55AA55AA55AA55L;
+        return knights == 0 && ((bishops & darkSquares) == 0 || (bishops & ~darkSquares) == 0);
+    }
+
+    /*
+     * setFen sets up the position described by the given FEN. The text is read one
+     * character at a time, so nothing is allocated. The move counters may be left out.
+     */
+    public void setFen(CharSequence fen) {
+        clear();
+        int n = fen.length();
+        int i = skipSpaces(fen, 0);
+        // Piece placement, from a8 to h1
+        int rank = 7, file = 0;
+        for (; i < n && fen.charAt(i) != ' '; i++) {
+            char c = fen.charAt(i);
+            if (c == '/') {
+                if (file != 8) {
+                    throw invalidFen(fen);
+                }
+                rank--;
+                file = 0;
+            } else if (c >= '1' && c <= '8') {
+                file += c - '0';
+            } else {
+                int pc = PIECE_CHARS.indexOf(c);
+                if (pc < 0 || file > 7 || rank < 0) {
+                    throw invalidFen(fen);
+                }
+                putPiece(pc, Bitboard.square(file, rank));
+                file++;
+            }
+            if (file > 8) {
+                throw invalidFen(fen);
+            }
+        }
+        if (rank != 0 || file != 8 || Long.bitCount(pieces[KING]) != 1 || Long.bitCount(pieces[KING + 6]) != 1
+                || Long.bitCount(colors[WHITE]) > 16 || Long.bitCount(colors[BLACK]) > 16
+                || ((pieces[PAWN] | pieces[PAWN + 6]) & (Bitboard.RANK_1 | Bitboard.RANK_8)) != 0) {
+            throw invalidFen(fen);
+        }
+        // Side to move
+        i = skipSpaces(fen, i);
+        if (i < n) {
+            char c = fen.charAt(i++);
+            if ((c != 'w' && c != 'b') || (i < n && fen.charAt(i) != ' ')) {
+                throw invalidFen(fen);
+            }
+            sideToMove = (c == 'b') ? BLACK : WHITE;
+        }
+        // Castling rights
+        i = skipSpaces(fen, i);
+        for (; i < n && fen.charAt(i) != ' '; i++) {
+            switch (fen.charAt(i)) {
+                case 'K':
+                    castling |= WHITE_KINGSIDE;
+                    break;
+                case 'Q':
+                    castling |= WHITE_QUEENSIDE;
+                    break;
+                case 'k':
+                    castling |= BLACK_KINGSIDE;
+                    break;
+                case 'q':
+                    castling |= BLACK_QUEENSIDE;
+                    break;
+                case '-':
+                    break;
+                default:
+                    throw invalidFen(fen);
+            }
+        }
+        castling &= homeRights();
+        // En passant square
+        i = skipSpaces(fen, i);
+        if (i < n) {
+            epSquare = Bitboard.parseSquare(fen, i);
+            if ((epSquare == Bitboard.NO_SQUARE) ? fen.charAt(i) != '-' : !isValidEpSquare(epSquare)) {
+                throw invalidFen(fen);
+            }
+            while (i < n && fen.charAt(i) != ' ') {
+                i++;
+            }
+        }
+        // Move counters
+        i = skipSpaces(fen, i);
+        if (i < n) {
+            halfmoveClock = parseNumber(fen, i);
+            while (i < n && fen.charAt(i) != ' ') {
+                i++;
+            }
+        }
+        i = skipSpaces(fen, i);
+        if (i < n) {
+            fullmoveNumber = Math.max(1, parseNumber(fen, i));
+        }
+        // The side that just moved cannot have left its King in check
+        if (isAttacked(kingSquare(sideToMove ^ 1), sideToMove)) {
+            throw invalidFen(fen);
+        }
+        key = computeKey();
+    }
+
+    /*
+     * toFen returns the FEN string describing this position.
+     */
+    public String toFen() {
+        return appendFen(new StringBuilder(90)).toString();
+    }
+
+    /*
+     * appendFen writes the FEN of this position to the given builder and returns it. Adds
+     * nothing but characters, so a reused builder never allocates.
+     */
+    public StringBuilder appendFen(StringBuilder sb) {
+        for (int rank = 7; rank >= 0; rank--) {
+            int empty = 0;
+            for (int file = 0; file < 8; file++) {
+                int pc = board[Bitboard.square(file, rank)];
+                if (pc == NO_PIECE) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    sb.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                sb.append(PIECE_CHARS.charAt(pc));
+            }
+            if (empty > 0) {
+                sb.append((char) ('0' + empty));
+            }
+            if (rank > 0) {
+                sb.append('/');
+            }
+        }
+        sb.append(sideToMove == WHITE ? " w " : " b ");
+        if (castling == 0) {
+            sb.append('-');
+        } else {
+            if ((castling & WHITE_KINGSIDE) != 0) {
+                sb.append('K');
+            }
+            if ((castling & WHITE_QUEENSIDE) != 0) {
+                sb.append('Q');
+            }
+            if ((castling & BLACK_KINGSIDE) != 0) {
+                sb.append('k');
+            }
+            if ((castling & BLACK_QUEENSIDE) != 0) {
+                sb.append('q');
+            }
+        }
+        sb.append(' ');
+        if (epSquare == Bitboard.NO_SQUARE) {
+            sb.append('-');
+        } else {
+            sb.append((char) ('a' + Bitboard.file(epSquare))).append((char) ('1' + Bitboard.rank(epSquare)));
+        }
+        sb.append(' ').append(halfmoveClock).append(' ').append(fullmoveNumber);
+        return sb;
+    }
+
+    /*
+     * Helper functions for setFen.
+     */
+    private static int skipSpaces(CharSequence fen, int i) {
+        while (i < fen.length() && Character.isWhitespace(fen.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /*
+     * Keeps only the castling rights whose King and rook are still on their home squares.
+     */
+    private int homeRights() {
+        int rights = 15;
+        int whiteKing = piece(WHITE, KING), whiteRook = piece(WHITE, ROOK);
+        int blackKing = piece(BLACK, KING), blackRook = piece(BLACK, ROOK);
+        if (board[4] != whiteKing) {
+            rights &= CASTLING_MASK[4];
+        }
+        if (board[0] != whiteRook) {
+            rights &= CASTLING_MASK[0];
+        }
+        if (board[7] != whiteRook) {
+            rights &= CASTLING_MASK[7];
+        }
+        if (board[60] != blackKing) {
+            rights &= CASTLING_MASK[60];
+        }
+        if (board[56] != blackRook) {
+            rights &= CASTLING_MASK[56];
+        }
+        if (board[63] != blackRook) {
+            rights &= CASTLING_MASK[63];
+        }
+        return rights;
+    }
+
+    /*
+     * An en passant square lies just behind a pawn of the side not to move that could
+     * have pushed two squares, with both squares it passed empty.
+     */
+    private boolean isValidEpSquare(int sq) {
+        int them = sideToMove ^ 1;
+        int behind = (them == WHITE) ? sq + 8 : sq - 8;
+        int start = (them == WHITE) ? sq - 8 : sq + 8;
+        return Bitboard.rank(sq) == ((them == WHITE) ? 2 : 5)
+                && board[behind] == piece(them, PAWN)
+                && board[sq] == NO_PIECE && board[start] == NO_PIECE;
+    }
+
+    private static int parseNumber(CharSequence fen, int i) {
+        int value = 0;
+        for (; i < fen.length() && fen.charAt(i) != ' '; i++) {
+            char c = fen.charAt(i);
+            if (c < '0' || c > '9') {
+                throw invalidFen(fen);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException invalidFen(CharSequence fen) {
+        return new IllegalArgumentException("Invalid FEN: " + fen);
+    }
+
+    /*
+     * Getters for the position state.
+     */
+    public int pieceAt(int sq) {
+        return board[sq];
+    }
+
+    public long pieces(int pc) {
+        return pieces[pc];
+    }
+
+    public long pieces(int color, int type) {
+        return pieces[color * 6 + type];
+    }
+
+    public long colorOccupancy(int color) {
+        return colors[color];
+    }
+
+    public long occupied() {
+        return occupied;
+    }
+
+    public int kingSquare(int color) {
+        return Long.numberOfTrailingZeros(pieces[color * 6 + KING]);
+    }
+
+    public int sideToMove() {
+        return sideToMove;
+    }
+
+    public int castlingRights() {
+        return castling;
+    }
+
+    public int epSquare() {
+        return epSquare;
+    }
+
+    public int halfmoveClock() {
+        return halfmoveClock;
+    }
+
+    public int fullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    public long key() {
+        return key;
+    }
+
+    public long pawnKey() {
+        return pawnKey;
+    }
+
+    /*
+     * Getters for the incrementally updated evaluation terms: the middlegame and endgame
+     * piece-square sums (from White's point of view) and the game phase (0 to 24 in a
+     * normal game, more after promotions).
+     */
+    public int middlegameScore() {
+        return mgScore;
+    }
+
+    public int endgameScore() {
+        return egScore;
+    }
+
+    public int phase() {
+        return phase;
+    }
+
+    @Override
+    public String toString() {
+        return toFen();
+    }
+} // end Position class
@@ -0,0 +1,183 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Helper class for Standard Algebraic Notation (SAN), the
+ * notation of PGN files and score sheets: "e4", "Nbd7",
+ * "exd6", "O-O-O", "e8=Q+". A move is read by matching it
+ * against the legal moves of the position, so anything that
+ * is not exactly one legal move is rejected. Check, mate and
+ * annotation marks (+ # ! ?) are accepted and ignored, as are
+ * the ways some programs write captures (":") and castling
+ * ("0-0"). Moves are written with only as much
+ * disambiguation as the legal moves need.
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+public final class San {
+    /*
+     * Scratch move list per thread.
+     */
+    private static final ThreadLocal<int[]> MOVE_BUFFER = ThreadLocal.withInitial(() -> new int[MoveGenerator.MAX_MOVES]);
+
+    private San() {
+    }
+
+    /*
+     * parse returns the legal move of the position written in SAN, or Move.NONE if there
+     * is no such move or the notation fits more than one.
+     */
+    public static int parse(Position pos, CharSequence san) {
+        return parse(pos, san, 0, san.length());
+    }
+
+    /*
+     * parse reads the SAN between the given indexes (end exclusive), without copying it.
+     */
+    public static int parse(Position pos, CharSequence san, int start, int end) {
+        // Strip check, mate and annotation marks
+        while (end > start && "+#!?".indexOf(san.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        if (end - start < 2) {
+            return Move.NONE;
+        }
+        int[] moves = MOVE_BUFFER.get();
+        int n = MoveGenerator.generate(pos, moves, 0);
+        char first = san.charAt(start);
+        if (first == 'O' || first == '0') {
+            return parseCastling(san, start, end, moves, n);
+        }
+        int type = "PNBRQK".indexOf(first);
+        int i = start;
+        if (type >= 0) {
+            i++;
+        } else {
+            type = Position.PAWN;
+        }
+        int promotion = 0;
+        int p = "NBRQ".indexOf(san.charAt(end - 1));
+        if (p >= 0) {
+            promotion = p + Position.KNIGHT;
+            end--;
+            if (end > i && san.charAt(end - 1) == '=') {
+                end--;
+            }
+        }
+        if (end - i < 2) {
+            return Move.NONE;
+        }
+        int to = Bitboard.parseSquare(san, end - 2);
+        if (to == Bitboard.NO_SQUARE) {
+            return Move.NONE;
+        }
+        // Whatever is between the piece and the destination: disambiguation and capture marks
+        int fromFile = -1, fromRank = -1;
+        for (int k = i; k < end - 2; k++) {
+            char c = san.charAt(k);
+            if (c >= 'a' && c <= 'h') {
+                fromFile = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRank = c - '1';
+            } else if (c != 'x' && c != ':' && c != '-') {
+                return Move.NONE;
+            }
+        }
+        int found = Move.NONE;
+        for (int k = 0; k < n; k++) {
+            int move = moves[k];
+            int from = Move.from(move);
+            if (Move.to(move) != to || Position.typeOf(Move.piece(move)) != type
+                    || Move.promotion(move) != promotion || Move.flag(move) == Move.CASTLING
+                    || (fromFile >= 0 && Bitboard.file(from) != fromFile)
+                    || (fromRank >= 0 && Bitboard.rank(from) != fromRank)) {
+                continue;
+            }
+            if (found != Move.NONE) { // ambiguous
+                return Move.NONE;
+            }
+            found = move;
+        }
+        return found;
+    }
+
+    /*
+     * toSan writes a legal move of the position in SAN, with the least disambiguation
+     * needed and a check or mate mark. The position is left as it was.
+     */
+    public static String toSan(Position pos, int move) {
+        StringBuilder sb = new StringBuilder(8);
+        int from = Move.from(move), to = Move.to(move);
+        int type = Position.typeOf(Move.piece(move));
+        if (Move.flag(move) == Move.CASTLING) {
+            sb.append(to > from ? "O-O" : "O-O-O");
+        } else if (type == Position.PAWN) {
+            if (Move.isCapture(move)) {
+                sb.append((char) ('a' + Bitboard.file(from))).append('x');
+            }
+            sb.append(Bitboard.squareName(to));
+            if (Move.promotion(move) != 0) {
+                sb.append('=').append("PNBRQK".charAt(Move.promotion(move)));
+            }
+        } else {
+            sb.append("PNBRQK".charAt(type));
+            // Other pieces of the same kind that could go to the same square
+            int[] moves = MOVE_BUFFER.get();
+            int n = MoveGenerator.generate(pos, moves, 0);
+            boolean ambiguous = false, sameFile = false, sameRank = false;
+            for (int i = 0; i < n; i++) {
+                int other = moves[i];
+                if (other != move && Move.to(other) == to && Move.piece(other) == Move.piece(move)
+                        && Move.flag(other) != Move.CASTLING) {
+                    ambiguous = true;
+                    sameFile |= Bitboard.file(Move.from(other)) == Bitboard.file(from);
+                    sameRank |= Bitboard.rank(Move.from(other)) == Bitboard.rank(from);
+                }
+            }
+            if (ambiguous) {
+                if (!sameFile) {
+                    sb.append((char) ('a' + Bitboard.file(from)));
+                } else if (!sameRank) {
+                    sb.append((char) ('1' + Bitboard.rank(from)));
+                } else {
+                    sb.append(Bitboard.squareName(from));
+                }
+            }
+            if (Move.isCapture(move)) {
+                sb.append('x');
+            }
+            sb.append(Bitboard.squareName(to));
+        }
+        pos.makeMove(move);
+        if (pos.isInCheck(pos.sideToMove())) {
+            sb.append(MoveGenerator.hasLegalMove(pos) ? '+' : '#');
+        }
+        pos.unmakeMove(move);
+        return sb.toString();
+    }
+
+    /*
+     * Helper function for parse. Reads "O-O" or "O-O-O" (or with zeros).
+     */
+    private static int parseCastling(CharSequence san, int start, int end, int[] moves, int n) {
+        int length = end - start;
+        if (length != 3 && length != 5) {
+            return Move.NONE;
+        }
+        for (int k = start; k < end; k++) {
+            char c = san.charAt(k);
+            boolean expected = ((k - start) & 1) == 0 ? (c == 'O' || c == '0') : c == '-';
+            if (!expected) {
+                return Move.NONE;
+            }
+        }
+        boolean kingside = length == 3;
+        for (int k = 0; k < n; k++) {
+            int move = moves[k];
+            if (Move.flag(move) == Move.CASTLING && (Move.to(move) > Move.from(move)) == kingside) {
+                return move;
+            }
+        }
+        return Move.NONE;
+    }
+} // end San class
@@ -0,0 +1,72 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Random 64-bit keys for Zobrist hashing. The key of a
+ * position is the XOR of one key per piece on its square, one
+ * for the castling rights, one for the en passant file (only
+ * when a pawn can actually capture en passant) and one when
+ * black is to move. Moving a piece only XORs a few keys in and
+ * out, so Position keeps its key up to date on every move.
+ *
+ * The keys come from a fixed seed, so a position has the same
+ * key in every run.
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+public final class Zobrist {
+    /*
+     * Keys per piece code and square, per set of castling rights, and per en passant file.
+     */
+    static final long[][] PIECE_SQUARE = new long[12][64];
+    static final long[] CASTLING = new long[16];
+    static final long[] EP_FILE = new long[8];
+    /*
+     * Key XORed in when black is to move.
+     */
+    static final long SIDE = next(0x1D8E4E27C47D124FL);
+
+    static {
+        long seed = SIDE;
+        for (int pc = 0; pc < 12; pc++) {
+            for (int sq = 0; sq < 64; sq++) {
+                PIECE_SQUARE[pc][sq] = seed = next(seed);
+            }
+        }
+        long[] rights = new long[4];
+        for (int i = 0; i < 4; i++) {
+            rights[i] = seed = next(seed);
+        }
+        for (int c = 0; c < 16; c++) { // each set of rights is the XOR of its single rights
+            for (int i = 0; i < 4; i++) {
+                if ((c & (1 << i)) != 0) {
+                    CASTLING[c] ^= rights[i];
+                }
+            }
+        }
+        for (int f = 0; f < 8; f++) {
+            EP_FILE[f] = seed = next(seed);
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    /*
+     * Helper function for the static initializer. SplitMix64 step: returns a well mixed
+     * value derived from the given one.
+     */
+    private static long next(long x) {
+        long z = x + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+     * pieceKey returns the key for a piece code standing on a square.
+     */
+    public static long pieceKey(int pc, int sq) {
+        return PIECE_SQUARE[pc][sq];
+    }
+} // end Zobrist class
@@ -0,0 +1,243 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Endgame table ("bitbase") of one ending of King and up to
+ * two pieces against a bare King, e.g. KQK, KRK, KPK or KBNK,
+ * made by BitbaseGenerator. For every placement of the pieces
+ * and side to move it holds the distance to mate in plies with
+ * best play, or that the position is a draw. The bare King can
+ * never win, so the side to move wins if it is the stronger
+ * side and loses otherwise.
+ *
+ * Positions are numbered by the squares of the pieces, as if
+ * the strong side were White (Black's endings are looked up
+ * mirrored top to bottom):
+ *
+ *      index = weakToMove, strongKing, weakKing, pieces...
+ *
+ * six bits per square, the pieces by type, Pawn first. Each
+ * entry is packed in just as many bits as the longest mate
+ * needs (5 for KQK, 7 for KBNK), big endian:
+ *
+ *      0       draw, or the position cannot happen
+ *      n       mate in n - 1 plies
+ *
+ * after a 16-byte header (magic, bits per entry, material).
+ * The file is memory mapped, so a probe reads one long.
+ *
+ * Run from the command line with: [directory] [threads]
+ * to build all of ENDGAMES, in order, into the directory.
+ *-----------------------------------------------------------*/
+package wfs.chess.db;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import wfs.chess.core.Position;
+
+public final class Bitbase implements Closeable {
+    /*
+     * Endings built by default. Those with a Pawn come after the endings its promotions
+     * lead to.
+     */
+    public static final String[] ENDGAMES = {"KQK", "KRK", "KPK", "KBNK"};
+    /*
+     * Most pieces of an ending, both Kings included.
+     */
+    public static final int MAX_PIECES = 4;
+    public static final String SUFFIX = ".bitbase";
+    static final long MAGIC = 0x5746534249544253L; // "WFSBITBS"
+    static final int HEADER_SIZE = 16;
+    private static final String LETTERS = "PNBRQ";
+
+    private final String name;
+    private final int[] types;
+    private final int material;
+    private final int bits;
+    private final MappedFile file;
+
+    /*
+     * Bitbase constructor. Opens the table of the named ending in the given directory.
+     */
+    public Bitbase(Path directory, String name) throws IOException {
+        this.name = name;
+        this.types = types(name);
+        this.material = material(types);
+        Path path = file(directory, name);
+        file = new MappedFile(path);
+        long entries = entries(types.length + 2);
+        if (file.size() < HEADER_SIZE || file.getLong(0) != MAGIC || file.getInt(12) != material) {
+            close();
+            throw new IOException("Not a " + name + " bitbase: " + path);
+        }
+        bits = file.getInt(8);
+        if (bits < 1 || bits > 8 || file.size() < HEADER_SIZE + (entries * bits + 7) / 8 + 8) {
+            close();
+            throw new IOException("Truncated bitbase: " + path);
+        }
+    }
+
+    /*
+     * Getters for the ending.
+     */
+    public String name() {
+        return name;
+    }
+
+    public int pieces() {
+        return types.length + 2;
+    }
+
+    /*
+     * material returns the key of the strong side's pieces besides the King, to find the
+     * table of a position with.
+     */
+    int material() {
+        return material;
+    }
+
+    /*
+     * value returns the entry of the position with the given index: 0 for a draw, or the
+     * plies to mate + 1.
+     */
+    int value(int index) {
+        long bit = (long) index * bits;
+        long word = file.getLong(HEADER_SIZE + (bit >>> 3));
+        return (int) ((word << (bit & 7)) >>> (64 - bits));
+    }
+
+    /*
+     * value returns the entry of a position of this ending, where the given color is the
+     * strong side.
+     */
+    int value(Position pos, int strong) {
+        int flip = (strong == Position.WHITE) ? 0 : 56;
+        int index = (pos.sideToMove() == strong) ? 0 : 1;
+        index = (index << 6) | (pos.kingSquare(strong) ^ flip);
+        index = (index << 6) | (pos.kingSquare(strong ^ 1) ^ flip);
+        for (int type = Position.PAWN; type < Position.KING; type++) {
+            long bb = pos.pieces(strong, type);
+            while (bb != 0) {
+                index = (index << 6) | (Long.numberOfTrailingZeros(bb) ^ flip);
+                bb &= bb - 1;
+            }
+        }
+        return value(index);
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    /*
+     * Helpers for the layout of the tables, shared with BitbaseGenerator.
+     */
+    static Path file(Path directory, String name) {
+        return directory.resolve(name + SUFFIX);
+    }
+
+    static long entries(int pieces) {
+        return 2L << (6 * pieces);
+    }
+
+    /*
+     * index numbers a position from the squares of its pieces: strong King, weak King,
+     * then the other pieces by type.
+     */
+    static int index(int weakToMove, int[] squares, int pieces) {
+        int index = weakToMove;
+        for (int i = 0; i < pieces; i++) {
+            index = (index << 6) | squares[i];
+        }
+        return index;
+    }
+
+    /*
+     * types returns the types of the strong side's pieces besides the King in the named
+     * ending, e.g. {KNIGHT, BISHOP} for "KBNK", sorted by type.
+     */
+    static int[] types(String name) {
+        int n = name.length() - 2;
+        if (n < 1 || n > MAX_PIECES - 2 || name.charAt(0) != 'K' || name.charAt(name.length() - 1) != 'K') {
+            throw new IllegalArgumentException("Not an ending of King and pieces against King: " + name);
+        }
+        int[] types = new int[n];
+        for (int i = 0; i < n; i++) {
+            types[i] = LETTERS.indexOf(name.charAt(i + 1));
+            if (types[i] < 0) {
+                throw new IllegalArgumentException("Unknown piece in " + name + ": " + name.charAt(i + 1));
+            }
+        }
+        Arrays.sort(types);
+        return types;
+    }
+
+    /*
+     * name returns the name of the ending with the given pieces besides the King, by
+     * their value, e.g. "KBNK".
+     */
+    static String name(int[] types) {
+        StringBuilder sb = new StringBuilder("K");
+        for (int i = types.length - 1; i >= 0; i--) {
+            sb.append(LETTERS.charAt(types[i]));
+        }
+        return sb.append('K').toString();
+    }
+
+    /*
+     * material returns a key of the given pieces: four bits per type, counting them.
+     */
+    static int material(int[] types) {
+        int key = 0;
+        for (int type : types) {
+            key += 1 << (4 * type);
+        }
+        return key;
+    }
+
+    static int material(Position pos, int color) {
+        int key = 0;
+        for (int type = Position.PAWN; type < Position.KING; type++) {
+            key += Long.bitCount(pos.pieces(color, type)) << (4 * type);
+        }
+        return key;
+    }
+
+    /*
+     * build generates the table of the named ending into the given directory with the
+     * given number of threads, and returns a summary of it. Endings with a Pawn need the
+     * tables of its promotions in the directory.
+     */
+    public static String build(Path directory, String name, int threads) throws IOException {
+        BitbaseGenerator generator = new BitbaseGenerator(types(name), directory, threads);
+        try {
+            generator.generate();
+            generator.write(file(directory, name));
+        } finally {
+            generator.close();
+        }
+        return name + ": " + generator;
+    }
+
+    /*
+     * main builds all of ENDGAMES into the given directory (by default the one Bitbases
+     * opens).
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0]
+                : System.getProperty(Bitbases.PROPERTY, Bitbases.DEFAULT_DIRECTORY));
+        int threads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Files.createDirectories(directory);
+        for (String name : ENDGAMES) {
+            long start = System.nanoTime();
+            String summary = build(directory, name, threads);
+            System.out.printf("%s in %.2f s, %d bytes%n", summary, (System.nanoTime() - start) / 1e9,
+                    Files.size(file(directory, name)));
+        }
+    }
+} // end Bitbase class
@@ -0,0 +1,545 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Builds a Bitbase by retrograde analysis: instead of
+ * searching forward from every position, it starts from the
+ * mates and works backwards one ply at a time.
+ *
+ *  - Every position is checked once: those that cannot happen
+ *    are marked, the bare King's legal moves are counted, and
+ *    the positions where it is mated are lost in 0 plies.
+ *  - Every position where the strong side can move into a
+ *    position lost in n plies (found by taking its moves back)
+ *    is won in n + 1 plies.
+ *  - Each position won in n + 1 plies takes one away from the
+ *    moves left of the positions the bare King could have come
+ *    from; when none are left, every move loses and the
+ *    position is lost in n + 2 plies.
+ *
+ * until no more positions are won. Whatever is left is a draw:
+ * the bare King always keeps a move that does not lose, such
+ * as taking an undefended piece. A Pawn that promotes leaves
+ * the table, so those moves are looked up in the table of the
+ * promoted piece (promoting to a Bishop or Knight can only
+ * draw against a bare King, and is left out).
+ *
+ * The work of each step, generating the moves taken back, is
+ * split into chunks run on a ForkJoinPool. The threads only
+ * collect the positions found; the calling thread then updates
+ * them in one pass, so no entry is ever written by two threads.
+ *-----------------------------------------------------------*/
+package wfs.chess.db;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import wfs.chess.core.Attacks;
+import wfs.chess.core.Position;
+
+final class BitbaseGenerator {
+    /*
+     * Most positions one task works on without splitting further.
+     */
+    private static final int SPLIT_THRESHOLD = 1 << 14;
+    /*
+     * Entry of a position that cannot happen. Other entries are as in the file.
+     */
+    private static final byte ILLEGAL = -1;
+    /*
+     * Longest mate in plies an entry can hold.
+     */
+    private static final int MAX_DISTANCE = Byte.MAX_VALUE - 1;
+    private static final int[] PROMOTIONS = {Position.QUEEN, Position.ROOK};
+
+    private final int[] types;
+    private final int pieces;
+    /*
+     * Positions with one side to move: the strong side's are numbered below half, the
+     * bare King's from half on.
+     */
+    private final int half;
+    private final byte[] values;
+    /*
+     * Legal moves of the bare King that are not known to lose yet, by index - half.
+     */
+    private final byte[] movesLeft;
+    /*
+     * Table the position is in after a Pawn promotes, by PROMOTIONS (null without a Pawn).
+     */
+    private final Bitbase[] promoted;
+    /*
+     * Positions won by promoting, by plies to mate.
+     */
+    private final IntList[] promotionWins = new IntList[MAX_DISTANCE + 1];
+    private final ForkJoinPool pool;
+    private int longest;
+
+    /*
+     * BitbaseGenerator constructor. Takes the types of the strong side's pieces besides
+     * the King, sorted, the directory with the tables of its promotions, and the number
+     * of threads.
+     */
+    BitbaseGenerator(int[] types, Path directory, int threads) throws IOException {
+        this.types = types;
+        this.pieces = types.length + 2;
+        long entries = Bitbase.entries(pieces);
+        this.half = (int) (entries / 2);
+        int pawns = 0;
+        for (int type : types) {
+            pawns += (type == Position.PAWN) ? 1 : 0;
+        }
+        if (pawns > 1) {
+            throw new IllegalArgumentException("At most one Pawn: " + Bitbase.name(types));
+        }
+        promoted = (pawns == 0) ? null : new Bitbase[PROMOTIONS.length];
+        for (int i = 0; pawns > 0 && i < PROMOTIONS.length; i++) {
+            int[] after = types.clone();
+            after[0] = PROMOTIONS[i]; // the Pawn sorts first
+            Arrays.sort(after);
+            String name = Bitbase.name(after);
+            if (!Files.exists(Bitbase.file(directory, name))) {
+                close();
+                throw new IOException(Bitbase.name(types) + " needs the " + name + " bitbase first");
+            }
+            promoted[i] = new Bitbase(directory, name);
+        }
+        values = new byte[(int) entries];
+        movesLeft = new byte[half];
+        pool = new ForkJoinPool(Math.max(1, threads));
+    }
+
+    /*
+     * generate works out every entry of the table.
+     */
+    void generate() {
+        int[] lost = run(values.length, this::initialize);
+        int lastPromotion = 0;
+        for (int d = 0; d <= MAX_DISTANCE; d++) {
+            if (promotionWins[d] != null) {
+                lastPromotion = d;
+            }
+        }
+        for (int d = 0; lost.length > 0 || d < lastPromotion; d += 2) {
+            if (d + 2 > MAX_DISTANCE) {
+                throw new IllegalStateException("Mate too long for the table: " + d + " plies");
+            }
+            int[] lostNow = lost;
+            int won = d + 1;
+            int[] previous = run(lost.length, (from, to, sq, out) -> {
+                for (int i = from; i < to; i++) {
+                    strongPredecessors(lostNow[i], sq, out);
+                }
+            });
+            IntList wins = new IntList();
+            for (int index : previous) {
+                win(index, won, wins);
+            }
+            IntList promotions = promotionWins[won];
+            for (int i = 0; promotions != null && i < promotions.size; i++) {
+                win(promotions.items[i], won, wins);
+            }
+            if (wins.size > 0) {
+                longest = won;
+            }
+            int[] winsNow = wins.toArray();
+            previous = run(winsNow.length, (from, to, sq, out) -> {
+                for (int i = from; i < to; i++) {
+                    weakPredecessors(winsNow[i], sq, out);
+                }
+            });
+            IntList losses = new IntList();
+            for (int index : previous) {
+                // The last move not known to lose was just found to lose as well
+                if (--movesLeft[index - half] == 0) {
+                    values[index] = (byte) (won + 2);
+                    losses.add(index);
+                }
+            }
+            lost = losses.toArray();
+            if (lost.length > 0) {
+                longest = won + 1;
+            }
+        }
+    }
+
+    /*
+     * Helper function for generate. Marks a position not decided yet as won in the given
+     * number of plies and adds it to the list.
+     */
+    private void win(int index, int plies, IntList wins) {
+        if (values[index] == 0) {
+            values[index] = (byte) (plies + 1);
+            wins.add(index);
+        }
+    }
+
+    /*
+     * write saves the table in the Bitbase format.
+     */
+    void write(Path path) throws IOException {
+        int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(longest + 1));
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path),
+                SortedRuns.BUFFER_SIZE))) {
+            out.writeLong(Bitbase.MAGIC);
+            out.writeInt(bits);
+            out.writeInt(Bitbase.material(types));
+            long word = 0;
+            int filled = 0;
+            for (byte value : values) {
+                long entry = Math.max(value, 0);
+                if (filled + bits <= 64) {
+                    word |= entry << (64 - filled - bits);
+                    filled += bits;
+                } else { // the entry is split between this word and the next
+                    int rest = filled + bits - 64;
+                    out.writeLong(word | (entry >>> rest));
+                    word = entry << (64 - rest);
+                    filled = rest;
+                }
+            }
+            out.writeLong(word);
+            out.writeLong(0); // so the last entries can be read with a whole long
+        }
+    }
+
+    void close() throws IOException {
+        if (pool != null) {
+            pool.shutdown();
+        }
+        for (int i = 0; promoted != null && i < promoted.length; i++) {
+            if (promoted[i] != null) {
+                promoted[i].close();
+            }
+        }
+    }
+
+    /*
+     * toString sums up the table: positions that can happen, and how many the strong side
+     * wins when it is to move.
+     */
+    @Override
+    public String toString() {
+        long legal = 0, won = 0;
+        for (int i = 0; i < half; i++) {
+            if (values[i] != ILLEGAL) {
+                legal++;
+                won += (values[i] > 0) ? 1 : 0;
+            }
+        }
+        return String.format("%d positions with the strong side to move, %.1f%% won, longest mate %d plies",
+                legal, 100.0 * won / Math.max(1, legal), longest);
+    }
+
+    /*
+     * Helper function for generate. Marks the positions in the range that cannot happen,
+     * counts the bare King's moves, and collects the positions where it is mated. Also
+     * notes the positions the strong side wins by promoting.
+     */
+    private void initialize(int from, int to, int[] sq, IntList out) {
+        IntList[] promotions = (promoted == null) ? null : new IntList[MAX_DISTANCE + 1];
+        for (int index = from; index < to; index++) {
+            int weakToMove = decode(index, sq);
+            long occ = occupancy(sq);
+            if (!isLegal(weakToMove, sq, occ)) {
+                values[index] = ILLEGAL;
+            } else if (weakToMove == 1) {
+                long attacked = attacks(sq, occ ^ (1L << sq[1]), -1);
+                // Taking an undefended piece is a legal move that never loses
+                int moves = Long.bitCount(Attacks.king(sq[1]) & ~attacked);
+                movesLeft[index - half] = (byte) moves;
+                if (moves == 0 && (attacked & (1L << sq[1])) != 0) {
+                    values[index] = 1;
+                    out.add(index);
+                }
+            } else if (promotions != null) {
+                int d = promotionDistance(sq, occ);
+                if (d > 0) {
+                    if (promotions[d] == null) {
+                        promotions[d] = new IntList();
+                    }
+                    promotions[d].add(index);
+                }
+            }
+        }
+        if (promotions != null) {
+            synchronized (promotionWins) {
+                for (int d = 0; d < promotions.length; d++) {
+                    if (promotions[d] != null) {
+                        if (promotionWins[d] == null) {
+                            promotionWins[d] = new IntList();
+                        }
+                        promotionWins[d].addAll(promotions[d]);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Helper function for initialize. Returns the plies to mate of the quickest win by
+     * promoting the Pawn, or 0 if promoting does not win.
+     */
+    private int promotionDistance(int[] sq, long occ) {
+        int pawn = 2; // the Pawn sorts first
+        int to = sq[pawn] + 8;
+        if (sq[pawn] < 48 || (occ & (1L << to)) != 0) {
+            return 0;
+        }
+        int best = 0;
+        int[] after = new int[pieces];
+        int[] afterTypes = new int[pieces];
+        for (int p = 0; p < PROMOTIONS.length; p++) {
+            // Squares of the position after promoting, the pieces sorted by type again
+            after[0] = sq[0];
+            after[1] = sq[1];
+            for (int j = 2; j < pieces; j++) {
+                after[j] = (j == pawn) ? to : sq[j];
+                afterTypes[j] = (j == pawn) ? PROMOTIONS[p] : types[j - 2];
+            }
+            for (int j = 3; j < pieces; j++) {
+                for (int k = j; k > 2 && afterTypes[k - 1] > afterTypes[k]; k--) {
+                    int t = afterTypes[k];
+                    afterTypes[k] = afterTypes[k - 1];
+                    afterTypes[k - 1] = t;
+                    t = after[k];
+                    after[k] = after[k - 1];
+                    after[k - 1] = t;
+                }
+            }
+            int value = promoted[p].value(Bitbase.index(1, after, pieces));
+            if (value > 0 && (best == 0 || value < best)) {
+                best = value; // lost in value - 1 plies after promoting
+            }
+        }
+        return best;
+    }
+
+    /*
+     * Helper function for generate. Takes back every move of the strong side that led to
+     * the given position, lost for the bare King, and collects the positions it came from.
+     */
+    private void strongPredecessors(int index, int[] sq, IntList out) {
+        decode(index, sq);
+        long occ = occupancy(sq);
+        for (int j = 0; j < pieces; j++) {
+            if (j == 1) {
+                continue;
+            }
+            int to = sq[j];
+            long from;
+            if (j == 0) {
+                from = Attacks.king(to) & ~Attacks.king(sq[1]);
+            } else {
+                switch (types[j - 2]) {
+                    case Position.PAWN:
+                        from = 0;
+                        if (to >= 16 && (occ & (1L << (to - 8))) == 0) {
+                            from = 1L << (to - 8);
+                            if (to >> 3 == 3 && (occ & (1L << (to - 16))) == 0) {
+                                from |= 1L << (to - 16);
+                            }
+                        }
+                        break;
+                    case Position.KNIGHT:
+                        from = Attacks.knight(to);
+                        break;
+                    default:
+                        from = sliderAttacks(types[j - 2], to, occ);
+                        break;
+                }
+            }
+            from &= ~occ;
+            int shift = 6 * (pieces - 1 - j);
+            while (from != 0) {
+                int s = Long.numberOfTrailingZeros(from);
+                from &= from - 1;
+                sq[j] = s;
+                // Nobody can have moved with the bare King in check
+                if ((attacks(sq, occ ^ (1L << to) ^ (1L << s), -1) & (1L << sq[1])) == 0) {
+                    out.add(index - half - (to << shift) + (s << shift));
+                }
+            }
+            sq[j] = to;
+        }
+    }
+
+    /*
+     * Helper function for generate. Takes back every move of the bare King that led to the
+     * given position, won for the strong side, and collects the positions it came from.
+     */
+    private void weakPredecessors(int index, int[] sq, IntList out) {
+        decode(index, sq);
+        long from = Attacks.king(sq[1]) & ~Attacks.king(sq[0]) & ~occupancy(sq);
+        int shift = 6 * (pieces - 2);
+        while (from != 0) {
+            int s = Long.numberOfTrailingZeros(from);
+            from &= from - 1;
+            out.add(half + index - (sq[1] << shift) + (s << shift));
+        }
+    }
+
+    /*
+     * Helper function for the steps. Decodes an index into the squares of the pieces and
+     * returns 1 if the bare King is to move.
+     */
+    private int decode(int index, int[] sq) {
+        for (int j = pieces - 1; j >= 0; j--) {
+            sq[j] = index & 63;
+            index >>>= 6;
+        }
+        return index;
+    }
+
+    private long occupancy(int[] sq) {
+        long occ = 0;
+        for (int j = 0; j < pieces; j++) {
+            occ |= 1L << sq[j];
+        }
+        return occ;
+    }
+
+    /*
+     * Helper function for the steps. Checks that no two pieces share a square, the Kings
+     * are apart, no Pawn stands on the first or last rank, and the bare King is not in
+     * check with the strong side to move.
+     */
+    private boolean isLegal(int weakToMove, int[] sq, long occ) {
+        if (Long.bitCount(occ) != pieces || (Attacks.king(sq[0]) & (1L << sq[1])) != 0) {
+            return false;
+        }
+        for (int j = 2; j < pieces; j++) {
+            if (types[j - 2] == Position.PAWN && (sq[j] < 8 || sq[j] >= 56)) {
+                return false;
+            }
+        }
+        return weakToMove == 1 || (attacks(sq, occ, -1) & (1L << sq[1])) == 0;
+    }
+
+    /*
+     * Helper function for the steps. Returns the squares the strong side attacks, leaving
+     * out the piece with the given number (-1 for none).
+     */
+    private long attacks(int[] sq, long occ, int skip) {
+        long attacked = Attacks.king(sq[0]);
+        for (int j = 2; j < pieces; j++) {
+            if (j == skip) {
+                continue;
+            }
+            switch (types[j - 2]) {
+                case Position.PAWN:
+                    attacked |= Attacks.pawn(Position.WHITE, sq[j]);
+                    break;
+                case Position.KNIGHT:
+                    attacked |= Attacks.knight(sq[j]);
+                    break;
+                default:
+                    attacked |= sliderAttacks(types[j - 2], sq[j], occ);
+                    break;
+            }
+        }
+        return attacked;
+    }
+
+    private static long sliderAttacks(int type, int sq, long occ) {
+        switch (type) {
+            case Position.BISHOP:
+                return Attacks.bishop(sq, occ);
+            case Position.ROOK:
+                return Attacks.rook(sq, occ);
+            default:
+                return Attacks.queen(sq, occ);
+        }
+    }
+
+    /*
+     * Helper function for generate. Runs the step on every number below count, split
+     * over the pool, and returns the positions the chunks collected.
+     */
+    private int[] run(int count, Step step) {
+        ConcurrentLinkedQueue<IntList> results = new ConcurrentLinkedQueue<>();
+        pool.invoke(new StepTask(step, 0, count, results));
+        int total = 0;
+        for (IntList list : results) {
+            total += list.size;
+        }
+        int[] all = new int[total];
+        int n = 0;
+        for (IntList list : results) {
+            System.arraycopy(list.items, 0, all, n, list.size);
+            n += list.size;
+        }
+        return all;
+    }
+
+    /*
+     * Step interface for one step of the generation over a range of numbers, with
+     * scratch squares and a list to collect positions in.
+     */
+    private interface Step {
+        void run(int from, int to, int[] sq, IntList out);
+    } // end Step interface
+
+    /*
+     * StepTask class splits a range of a step in halves until it is small enough to run
+     * on one worker.
+     */
+    private final class StepTask extends RecursiveAction {
+        private final Step step;
+        private final int from;
+        private final int to;
+        private final ConcurrentLinkedQueue<IntList> results;
+
+        StepTask(Step step, int from, int to, ConcurrentLinkedQueue<IntList> results) {
+            this.step = step;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                IntList out = new IntList();
+                step.run(from, to, new int[pieces], out);
+                if (out.size > 0) {
+                    results.add(out);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new StepTask(step, from, mid, results), new StepTask(step, mid, to, results));
+        }
+    } // end StepTask class
+
+    /*
+     * IntList class is a growable list of ints.
+     */
+    private static final class IntList {
+        int[] items = new int[64];
+        int size;
+
+        void add(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.items[i]);
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(items, size);
+        }
+    } // end IntList class
+} // end BitbaseGenerator class
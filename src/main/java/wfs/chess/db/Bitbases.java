@@ -0,0 +1,231 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * The endgame tables (see Bitbase) found in a directory, and
+ * what they say about a position: whether the side to move
+ * wins, draws or loses with perfect play, in how many plies
+ * the game ends in mate, and the move that gets there. The
+ * search stops at positions it finds here and plays the best
+ * move at once, and Game ends a game drawn by the tables.
+ *
+ * Positions with castling rights are not in the tables, since
+ * the tables do not know about castling.
+ *-----------------------------------------------------------*/
+package wfs.chess.db;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import wfs.chess.core.Move;
+import wfs.chess.core.MoveGenerator;
+import wfs.chess.core.Position;
+
+public final class Bitbases implements Closeable {
+    /*
+     * Results for the side to move.
+     */
+    public static final int LOSS = -1;
+    public static final int DRAW = 0;
+    public static final int WIN = 1;
+    public static final int UNKNOWN = 2;
+    /*
+     * System property naming the directory of the tables, and the directory used when it
+     * is not set.
+     */
+    public static final String PROPERTY = "wfs.chess.bitbases";
+    public static final String DEFAULT_DIRECTORY = "bitbases";
+
+    private final Bitbase[] tables;
+    private final int maxPieces;
+
+    /*
+     * Bitbases constructor. Opens the tables of all of Bitbase.ENDGAMES found in the given
+     * directory.
+     */
+    public Bitbases(Path directory) throws IOException {
+        List<Bitbase> found = new ArrayList<>();
+        int most = 0;
+        try {
+            for (String name : Bitbase.ENDGAMES) {
+                if (Files.exists(Bitbase.file(directory, name))) {
+                    Bitbase table = new Bitbase(directory, name);
+                    found.add(table);
+                    most = Math.max(most, table.pieces());
+                }
+            }
+        } catch (IOException e) {
+            for (Bitbase table : found) {
+                table.close();
+            }
+            throw e;
+        }
+        tables = found.toArray(new Bitbase[0]);
+        maxPieces = most;
+    }
+
+    /*
+     * openDefault opens the tables in the directory named by the system property, or
+     * returns null if there are none.
+     */
+    public static Bitbases openDefault() throws IOException {
+        Path directory = Paths.get(System.getProperty(PROPERTY, DEFAULT_DIRECTORY));
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        Bitbases bitbases = new Bitbases(directory);
+        if (bitbases.size() == 0) {
+            bitbases.close();
+            return null;
+        }
+        return bitbases;
+    }
+
+    /*
+     * shared returns the default tables, opened on first use and shared by all searches,
+     * or null if there are none.
+     */
+    public static Bitbases shared() {
+        return Shared.INSTANCE;
+    }
+
+    /*
+     * sharedError returns why the default tables could not be opened, or null if they
+     * were opened or there are none, so the caller can report it.
+     */
+    public static IOException sharedError() {
+        return Shared.error;
+    }
+
+    /*
+     * probe returns whether the side to move wins (WIN), draws (DRAW) or loses (LOSS) the
+     * position with perfect play, or UNKNOWN if it is not in the tables.
+     */
+    public int probe(Position pos) {
+        int entry = entry(pos);
+        if (entry < 0) {
+            return UNKNOWN;
+        }
+        if ((entry >>> 1) == 0) {
+            return DRAW;
+        }
+        return ((entry & 1) == 0) ? WIN : LOSS;
+    }
+
+    /*
+     * distanceToMate returns the plies until the side that wins the position mates with
+     * perfect play (0 if the side to move is mated), or -1 if it is a draw or not in the
+     * tables.
+     */
+    public int distanceToMate(Position pos) {
+        int entry = entry(pos);
+        return (entry < 0) ? -1 : (entry >>> 1) - 1;
+    }
+
+    /*
+     * bestMove returns the move that mates the quickest when the side to move wins, keeps
+     * the draw when it can draw, and puts off mate the longest when it loses; or Move.NONE
+     * if the position is not in the tables or has no legal move. The given position is
+     * played on but left as it was.
+     */
+    public int bestMove(Position pos) {
+        if (entry(pos) < 0) {
+            return Move.NONE;
+        }
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generate(pos, moves, 0);
+        int best = Move.NONE;
+        int bestRank = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            pos.makeMove(moves[i]);
+            int rank = rank(pos);
+            pos.unmakeMove(moves[i]);
+            if (rank > bestRank) {
+                bestRank = rank;
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+
+    /*
+     * Getters for the tables found.
+     */
+    public int size() {
+        return tables.length;
+    }
+
+    public int maxPieces() {
+        return maxPieces;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Bitbase table : tables) {
+            table.close();
+        }
+    }
+
+    /*
+     * Helper function for bestMove. Ranks the position after a move, from the point of
+     * view of the side that made it: quicker mates first, then draws, then slower losses.
+     * A move that leaves the tables is a draw if neither side can mate any more, and
+     * ranked last otherwise.
+     */
+    private int rank(Position after) {
+        int result = probe(after);
+        if (result == UNKNOWN) {
+            return after.isInsufficientMaterial() ? 0 : Integer.MIN_VALUE + 1;
+        }
+        int plies = distanceToMate(after);
+        if (result == LOSS) { // for the opponent
+            return 1000 - plies;
+        }
+        return (result == DRAW) ? 0 : -1000 + plies;
+    }
+
+    /*
+     * Helper function for the probes. Returns the entry of the position, shifted left by
+     * one with the low bit set if the bare King is to move, or -1 if it is not in the
+     * tables.
+     */
+    private int entry(Position pos) {
+        if (Long.bitCount(pos.occupied()) > maxPieces || pos.castlingRights() != 0) {
+            return -1;
+        }
+        int white = Bitbase.material(pos, Position.WHITE), black = Bitbase.material(pos, Position.BLACK);
+        if ((white == 0) == (black == 0)) {
+            return -1;
+        }
+        int strong = (white != 0) ? Position.WHITE : Position.BLACK;
+        int material = white | black;
+        for (Bitbase table : tables) {
+            if (table.material() == material) {
+                return (table.value(pos, strong) << 1) | (pos.sideToMove() == strong ? 0 : 1);
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * Shared class holds the default tables, opened when first asked for, or the error
+     * that kept them from opening.
+     */
+    private static final class Shared {
+        static IOException error;
+        static final Bitbases INSTANCE = open();
+
+        private static Bitbases open() {
+            try {
+                return openDefault();
+            } catch (IOException e) {
+                error = e;
+                return null;
+            }
+        }
+    } // end Shared class
+} // end Bitbases class
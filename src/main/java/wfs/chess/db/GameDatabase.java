@@ -0,0 +1,269 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Read side of the on-disk game database written by
+ * GameDatabaseWriter. Two files share a base name:
+ *
+ *      <base>.games  the games, one after the other, with
+ *                    their moves in the compact 16-bit form
+ *      <base>.index  one entry (Zobrist key, game offset) for
+ *                    every position of every game, sorted by
+ *                    key and then offset
+ *
+ * Both files are memory mapped, so nothing is loaded into the
+ * heap and the operating system keeps the hot pages cached.
+ * Zobrist keys are spread evenly, so a key is found in the
+ * index by interpolation search: the first guess is usually
+ * within a page of the entry, and a lookup touches a few
+ * pages even with hundreds of millions of entries.
+ *
+ * Games are identified by their offset in the games file.
+ *
+ * Run from the command line with: <database> [FEN]
+ *-----------------------------------------------------------*/
+package wfs.chess.db;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.ObjIntConsumer;
+import wfs.chess.core.Move;
+import wfs.chess.core.Position;
+
+public final class GameDatabase implements Closeable {
+    /*
+     * File names and layout. Each file starts with a magic number and its number of
+     * games or entries; an index entry is two longs.
+     */
+    public static final String GAMES_SUFFIX = ".games";
+    public static final String INDEX_SUFFIX = ".index";
+    static final long GAMES_MAGIC = 0x57465347414D4553L; // "WFSGAMES"
+    static final long INDEX_MAGIC = 0x574653494E444558L; // "WFSINDEX"
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_HEADER_SIZE = 12;
+    static final int ENTRY_SIZE = 16;
+    /*
+     * Flag of a game record that starts from its own FEN.
+     */
+    static final int FLAG_FEN = 1;
+    /*
+     * Game results.
+     */
+    public static final int WHITE_WINS = 0;
+    public static final int BLACK_WINS = 1;
+    public static final int DRAW = 2;
+    public static final int UNKNOWN = 3;
+    private final MappedFile games;
+    private final MappedFile index;
+    private final long gameCount;
+    private final long entryCount;
+
+    /*
+     * GameDatabase constructor. Opens the database with the given base name.
+     */
+    public GameDatabase(Path base) throws IOException {
+        games = new MappedFile(file(base, GAMES_SUFFIX));
+        index = new MappedFile(file(base, INDEX_SUFFIX));
+        if (games.size() < HEADER_SIZE || games.getLong(0) != GAMES_MAGIC
+                || index.size() < HEADER_SIZE || index.getLong(0) != INDEX_MAGIC) {
+            close();
+            throw new IOException("Not a game database: " + base);
+        }
+        gameCount = games.getLong(8);
+        entryCount = index.getLong(8);
+    }
+
+    /*
+     * file returns the path of one of the files of the database with the given base name.
+     */
+    public static Path file(Path base, String suffix) {
+        return base.resolveSibling(base.getFileName() + suffix);
+    }
+
+    /*
+     * parseResult returns the result for a PGN result string like "1-0".
+     */
+    public static int parseResult(String result) {
+        if (result == null) {
+            return UNKNOWN;
+        }
+        switch (result) {
+            case "1-0":
+                return WHITE_WINS;
+            case "0-1":
+                return BLACK_WINS;
+            case "1/2-1/2":
+                return DRAW;
+            default:
+                return UNKNOWN;
+        }
+    }
+
+    /*
+     * Getters for the size of the database.
+     */
+    public long gameCount() {
+        return gameCount;
+    }
+
+    public long positionCount() {
+        return entryCount;
+    }
+
+    /*
+     * countGames returns the number of games that reached the position with the given key.
+     */
+    public long countGames(long key) {
+        long first = lowerBound(key);
+        long i = first;
+        while (i < entryCount && keyAt(i) == key) {
+            i++;
+        }
+        return i - first;
+    }
+
+    /*
+     * gamesWith writes the offsets of the games that reached the position with the given
+     * key into the array, in the order they were added, and returns how many it wrote (at
+     * most the length of the array).
+     */
+    public int gamesWith(long key, long[] offsets) {
+        long i = lowerBound(key);
+        int n = 0;
+        while (n < offsets.length && i < entryCount && keyAt(i) == key) {
+            offsets[n++] = index.getLong(HEADER_SIZE + i * ENTRY_SIZE + 8);
+            i++;
+        }
+        return n;
+    }
+
+    /*
+     * Getters for a game, by its offset.
+     */
+    public int pgnNumber(long offset) {
+        return games.getInt(offset);
+    }
+
+    public int result(long offset) {
+        return games.get(offset + 4);
+    }
+
+    public int plies(long offset) {
+        return games.getShort(offset + 6) & 0xFFFF;
+    }
+
+    /*
+     * rating returns the rating of the player of the given color, or 0 if unknown.
+     */
+    public int rating(long offset, int color) {
+        return games.getShort(offset + 8 + 2 * color);
+    }
+
+    /*
+     * firstGame returns the offset of the first game, and nextGame the offset of the game
+     * after the given one; both return -1 when there is none, so all games can be visited
+     * in the order they were added.
+     */
+    public long firstGame() {
+        return (gameCount > 0) ? HEADER_SIZE : -1;
+    }
+
+    public long nextGame(long offset) {
+        long next = movesOffset(offset) + 2L * plies(offset);
+        return (next < games.size()) ? next : -1;
+    }
+
+    /*
+     * startFen returns the FEN the game starts from.
+     */
+    public String startFen(long offset) {
+        if ((games.get(offset + 5) & FLAG_FEN) == 0) {
+            return Position.START_FEN;
+        }
+        int length = games.getShort(offset + RECORD_HEADER_SIZE) & 0xFFFF;
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) games.get(offset + RECORD_HEADER_SIZE + 2 + i));
+        }
+        return sb.toString();
+    }
+
+    /*
+     * replay sets up the given position at the start of the game and plays its moves,
+     * calling the visitor (if not null) with the position before each move and the move.
+     * Returns the number of moves played. Throws IllegalStateException at a move that does
+     * not fit the position, e.g. in a corrupt file.
+     */
+    public int replay(long offset, Position pos, ObjIntConsumer<Position> visitor) {
+        pos.setFen(startFen(offset));
+        int plies = plies(offset);
+        long at = movesOffset(offset);
+        for (int i = 0; i < plies; i++, at += 2) {
+            int move = Move.expand(pos, games.getShort(at) & 0xFFFF);
+            if (move == Move.NONE) {
+                throw new IllegalStateException("Corrupt move " + (i + 1) + " in the game at " + offset);
+            }
+            if (visitor != null) {
+                visitor.accept(pos, move);
+            }
+            pos.makeMove(move);
+        }
+        return plies;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            games.close();
+        } finally {
+            index.close();
+        }
+    }
+
+    /*
+     * Helper functions for the files.
+     */
+    private long movesOffset(long offset) {
+        long at = offset + RECORD_HEADER_SIZE;
+        if ((games.get(offset + 5) & FLAG_FEN) != 0) {
+            at += 2 + (games.getShort(at) & 0xFFFF);
+        }
+        return at;
+    }
+
+    private long lowerBound(long key) {
+        return index.lowerBound(key, HEADER_SIZE, ENTRY_SIZE, entryCount);
+    }
+
+    private long keyAt(long entry) {
+        return index.getLong(HEADER_SIZE + entry * ENTRY_SIZE);
+    }
+
+    /*
+     * main looks up a position (the initial position by default) and prints how many games
+     * reached it, and the first few of them.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: GameDatabase <database> [FEN]");
+            return;
+        }
+        String fen = (args.length > 1) ? String.join(" ", java.util.Arrays.copyOfRange(args, 1, args.length))
+                : Position.START_FEN;
+        try (GameDatabase db = new GameDatabase(Paths.get(args[0]))) {
+            long key = new Position(fen).key();
+            long start = System.nanoTime();
+            long count = db.countGames(key);
+            long micros = (System.nanoTime() - start) / 1000;
+            System.out.println(count + " of " + db.gameCount() + " games reached " + fen + " (" + micros + " us)");
+            long[] offsets = new long[10];
+            int n = db.gamesWith(key, offsets);
+            for (int i = 0; i < n; i++) {
+                System.out.println("  game " + db.pgnNumber(offsets[i]) + ", " + db.plies(offsets[i]) + " moves, "
+                        + new String[] {"1-0", "0-1", "1/2-1/2", "*"}[db.result(offsets[i])]);
+            }
+        }
+    }
+} // end GameDatabase class
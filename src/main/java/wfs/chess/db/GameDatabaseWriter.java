@@ -0,0 +1,201 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Builds a GameDatabase. Games are appended to the games file
+ * as they come, each as a small header and its moves in the
+ * compact 16-bit form:
+ *
+ *      int    number of the game in its PGN file
+ *      byte   result
+ *      byte   flags (FLAG_FEN: starts from its own FEN)
+ *      short  number of moves
+ *      short  White's rating (0 if unknown)
+ *      short  Black's rating (0 if unknown)
+ *      [short length, bytes]  the FEN, with FLAG_FEN
+ *      short  each move
+ *
+ * The (key, offset) pair of every position goes to the index.
+ * There can be far more of those than fit in the heap, so they
+ * are sorted with SortedRuns and merged into the index file on
+ * close, with repeated positions of the same game dropped.
+ *
+ * Run from the command line with: <file.pgn> <database>
+ *-----------------------------------------------------------*/
+package wfs.chess.db;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import wfs.chess.core.Move;
+import wfs.chess.core.Position;
+import wfs.chess.pgn.PgnException;
+import wfs.chess.pgn.PgnGame;
+import wfs.chess.pgn.PgnReader;
+
+public final class GameDatabaseWriter implements Closeable {
+    private final Path base;
+    private final DataOutputStream games;
+    private long offset;
+    private long gameCount;
+    /*
+     * Index entries, sorted on close.
+     */
+    private final SortedRuns entries;
+    /*
+     * Moves and position keys of the game being added.
+     */
+    private final Position position = new Position();
+    private int[] moves = new int[256];
+    private long[] gameKeys = new long[256];
+    private int plies;
+
+    /*
+     * GameDatabaseWriter constructor. Creates (or replaces) the database with the given
+     * base name.
+     */
+    public GameDatabaseWriter(Path base) throws IOException {
+        this.base = base;
+        games = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                GameDatabase.file(base, GameDatabase.GAMES_SUFFIX)), SortedRuns.BUFFER_SIZE));
+        games.writeLong(GameDatabase.GAMES_MAGIC);
+        games.writeLong(0); // number of games, written on close
+        offset = GameDatabase.HEADER_SIZE;
+        entries = new SortedRuns(base.toAbsolutePath().getParent(), base.getFileName().toString());
+    }
+
+    /*
+     * add replays a game of a PGN file and adds it, returning its offset. Throws
+     * PgnException, and adds nothing, if the game does not replay.
+     */
+    public long add(PgnGame game) throws IOException {
+        plies = 0;
+        int moveCount = game.replay(position, (pos, move) -> {
+            if (plies == moves.length) {
+                moves = Arrays.copyOf(moves, plies * 2);
+                gameKeys = Arrays.copyOf(gameKeys, plies * 2);
+            }
+            gameKeys[plies] = pos.key();
+            moves[plies++] = move;
+        });
+        if (moveCount > 0xFFFF) {
+            throw new PgnException(game.getLine(), "game too long");
+        }
+        String fen = game.tag("FEN");
+        long start = offset;
+        games.writeInt(game.getNumber());
+        games.writeByte(GameDatabase.parseResult(game.tag("Result")));
+        games.writeByte(fen != null ? GameDatabase.FLAG_FEN : 0);
+        games.writeShort(moveCount);
+        games.writeShort(parseRating(game.tag("WhiteElo")));
+        games.writeShort(parseRating(game.tag("BlackElo")));
+        offset += GameDatabase.RECORD_HEADER_SIZE;
+        if (fen != null) {
+            byte[] bytes = fen.getBytes(StandardCharsets.US_ASCII);
+            games.writeShort(bytes.length);
+            games.write(bytes);
+            offset += 2 + bytes.length;
+        }
+        for (int i = 0; i < moveCount; i++) {
+            games.writeShort(Move.toShort(moves[i]));
+            entries.add(gameKeys[i], start);
+        }
+        offset += 2L * moveCount;
+        entries.add(position.key(), start); // the final position
+        gameCount++;
+        return start;
+    }
+
+    /*
+     * close merges the index entries into the index file and finishes both files.
+     */
+    @Override
+    public void close() throws IOException {
+        games.close();
+        patchCount(GameDatabase.file(base, GameDatabase.GAMES_SUFFIX), gameCount);
+        long[] last = {0, -1};
+        long[] count = {0};
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                GameDatabase.file(base, GameDatabase.INDEX_SUFFIX)), SortedRuns.BUFFER_SIZE))) {
+            out.writeLong(GameDatabase.INDEX_MAGIC);
+            out.writeLong(0); // number of entries, written after the merge
+            entries.merge((key, gameOffset) -> {
+                if (key != last[0] || gameOffset != last[1]) { // not a repetition in the same game
+                    out.writeLong(key);
+                    out.writeLong(gameOffset);
+                    last[0] = key;
+                    last[1] = gameOffset;
+                    count[0]++;
+                }
+            });
+        } finally {
+            entries.close();
+        }
+        patchCount(GameDatabase.file(base, GameDatabase.INDEX_SUFFIX), count[0]);
+    }
+
+    /*
+     * patchCount writes the number of games or entries into the header of a file.
+     */
+    static void patchCount(Path file, long count) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putLong(0, count), 8);
+        }
+    }
+
+    /*
+     * Helper function for add. Returns a rating tag as a number, or 0 if it is missing or
+     * not a plausible rating.
+     */
+    private static int parseRating(String tag) {
+        if (tag == null) {
+            return 0;
+        }
+        try {
+            int rating = Integer.parseInt(tag.trim());
+            return (rating > 0 && rating < 4000) ? rating : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /*
+     * main builds a database from a PGN file, skipping the games that do not replay.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: GameDatabaseWriter <file.pgn> <database>");
+            return;
+        }
+        long start = System.nanoTime();
+        long added = 0, rejected = 0;
+        try (PgnReader reader = new PgnReader(Paths.get(args[0]));
+                GameDatabaseWriter writer = new GameDatabaseWriter(Paths.get(args[1]))) {
+            while (true) {
+                try {
+                    PgnGame game = reader.next();
+                    if (game == null) {
+                        break;
+                    }
+                    writer.add(game);
+                    added++;
+                } catch (PgnException e) {
+                    System.out.println("Rejected: " + e.getMessage());
+                    rejected++;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d games added (%d rejected) in %.2f s: %.0f games/s%n", added, rejected, seconds,
+                added / seconds);
+    }
+} // end GameDatabaseWriter class
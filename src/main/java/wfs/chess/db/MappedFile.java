@@ -0,0 +1,122 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Read-only memory mapping of a whole file of any size. A
+ * single MappedByteBuffer stops at 2 GB, so the file is mapped
+ * in segments of 1 GB and reads are routed to the segment
+ * holding the offset; the rare value that straddles two
+ * segments is put together byte by byte. Values are big
+ * endian, as written by DataOutputStream. Pages are only read
+ * from disk when touched, so opening a file costs no heap.
+ *-----------------------------------------------------------*/
+package wfs.chess.db;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+final class MappedFile implements Closeable {
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+    /*
+     * Below this many records lowerBound scans instead of searching.
+     */
+    private static final int SCAN_SIZE = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    MappedFile(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        size = channel.size();
+        segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = (long) i << SEGMENT_SHIFT;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, 1L << SEGMENT_SHIFT));
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    long getLong(long offset) {
+        if (straddles(offset, 8)) {
+            return ((long) getInt(offset) << 32) | (getInt(offset + 4) & 0xFFFFFFFFL);
+        }
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & SEGMENT_MASK));
+    }
+
+    int getInt(long offset) {
+        if (straddles(offset, 4)) {
+            return (getShort(offset) << 16) | (getShort(offset + 2) & 0xFFFF);
+        }
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getInt((int) (offset & SEGMENT_MASK));
+    }
+
+    short getShort(long offset) {
+        if (straddles(offset, 2)) {
+            return (short) ((get(offset) << 8) | (get(offset + 1) & 0xFF));
+        }
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getShort((int) (offset & SEGMENT_MASK));
+    }
+
+    byte get(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].get((int) (offset & SEGMENT_MASK));
+    }
+
+    /*
+     * lowerBound searches records sorted by a long key at their start, laid out from the
+     * given offset with the given size, for the first one whose key is not less than the
+     * given key, and returns its number (count if there is none). Keys are expected to be
+     * spread evenly, like Zobrist keys: interpolation steps are taken while they shrink
+     * the range quickly, bisection otherwise, and a scan once the range is small.
+     */
+    long lowerBound(long key, long start, int recordSize, long count) {
+        long lo = 0, hi = count;
+        boolean interpolate = true;
+        while (hi - lo > SCAN_SIZE) {
+            long loKey = getLong(start + lo * recordSize), hiKey = getLong(start + (hi - 1) * recordSize);
+            if (key <= loKey) {
+                return lo;
+            }
+            if (key > hiKey) {
+                return hi;
+            }
+            long mid;
+            if (interpolate) {
+                double fraction = ((double) key - loKey) / ((double) hiKey - loKey);
+                mid = lo + (long) (fraction * (hi - 1 - lo));
+                mid = Math.max(lo, Math.min(hi - 1, mid));
+            } else {
+                mid = (lo + hi) >>> 1;
+            }
+            long range = hi - lo;
+            if (getLong(start + mid * recordSize) < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+            // Fall back to bisection for a step when the guess was poor
+            interpolate = (hi - lo) * 4 < range;
+        }
+        while (lo < hi && getLong(start + lo * recordSize) < key) {
+            lo++;
+        }
+        return lo;
+    }
+
+    private static boolean straddles(long offset, int bytes) {
+        return (offset & SEGMENT_MASK) + bytes > (1L << SEGMENT_SHIFT);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+} // end MappedFile class
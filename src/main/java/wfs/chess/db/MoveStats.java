@@ -0,0 +1,77 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * How one move did in the games of an OpeningExplorer: how
+ * often it was played from the position, how those games
+ * ended, and the average rating of the players who chose it.
+ *-----------------------------------------------------------*/
+package wfs.chess.db;
+
+public final class MoveStats {
+    private final int move;
+    private final String san;
+    private final int games;
+    private final int whiteWins;
+    private final int draws;
+    private final int blackWins;
+    private final int averageRating;
+
+    /*
+     * MoveStats constructor. Takes the move, its SAN, the number of games it was played in,
+     * their results, and the average rating of the players of the move (0 if unknown).
+     */
+    public MoveStats(int move, String san, int games, int whiteWins, int draws, int blackWins, int averageRating) {
+        this.move = move;
+        this.san = san;
+        this.games = games;
+        this.whiteWins = whiteWins;
+        this.draws = draws;
+        this.blackWins = blackWins;
+        this.averageRating = averageRating;
+    }
+
+    /*
+     * Getters for the statistics.
+     */
+    public int getMove() {
+        return move;
+    }
+
+    public String getSan() {
+        return san;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getWhiteWins() {
+        return whiteWins;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public int getBlackWins() {
+        return blackWins;
+    }
+
+    public int getAverageRating() {
+        return averageRating;
+    }
+
+    /*
+     * percent returns a count as a whole percentage of the games.
+     */
+    public int percent(int count) {
+        return games == 0 ? 0 : Math.round(100f * count / games);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-7s %8d  %3d%% / %3d%% / %3d%%  %4d", san, games, percent(whiteWins), percent(draws),
+                percent(blackWins), averageRating);
+    }
+} // end MoveStats class
@@ -0,0 +1,269 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Opening explorer: for each position of the first plies of
+ * the games of a GameDatabase, the moves played from it and
+ * how they did (see MoveStats). The statistics are worked out
+ * once by build and written to <base>.explorer, one record
+ * per position and move, sorted by Zobrist key:
+ *
+ *      long   key of the position
+ *      short  move, compact 16-bit form
+ *      short  average rating of the players of the move
+ *      int    games
+ *      int    White wins
+ *      int    draws
+ *      int    Black wins
+ *      int    games with a rating for the player of the move
+ *
+ * The file is memory mapped and searched like the database
+ * index, so a query only reads the few records of one
+ * position: far less than a millisecond once the pages are
+ * cached.
+ *
+ * Run from the command line with: <database> [plies]
+ *-----------------------------------------------------------*/
+package wfs.chess.db;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import wfs.chess.core.Move;
+import wfs.chess.core.MoveGenerator;
+import wfs.chess.core.Position;
+import wfs.chess.core.San;
+
+public final class OpeningExplorer implements Closeable {
+    /*
+     * File name and layout.
+     */
+    public static final String SUFFIX = ".explorer";
+    static final long MAGIC = 0x574653584D4F5645L; // "WFSXMOVE"
+    static final int RECORD_SIZE = 32;
+    /*
+     * Number of plies of each game counted by default.
+     */
+    public static final int DEFAULT_PLIES = 30;
+    /*
+     * System property naming the database whose explorer the game shows, and the name used
+     * when it is not set.
+     */
+    public static final String PROPERTY = "wfs.chess.explorer";
+    public static final String DEFAULT_BASE = "openings";
+
+    private final MappedFile file;
+    private final long count;
+    /*
+     * Scratch move list per thread for queries.
+     */
+    private static final ThreadLocal<int[]> MOVE_BUFFER = ThreadLocal.withInitial(() -> new int[MoveGenerator.MAX_MOVES]);
+
+    /*
+     * OpeningExplorer constructor. Opens the explorer of the database with the given base
+     * name.
+     */
+    public OpeningExplorer(Path base) throws IOException {
+        file = new MappedFile(GameDatabase.file(base, SUFFIX));
+        if (file.size() < GameDatabase.HEADER_SIZE || file.getLong(0) != MAGIC) {
+            close();
+            throw new IOException("Not an opening explorer: " + base);
+        }
+        count = file.getLong(8);
+    }
+
+    /*
+     * openDefault opens the explorer named by the system property, or returns null if
+     * there is none.
+     */
+    public static OpeningExplorer openDefault() throws IOException {
+        Path base = Paths.get(System.getProperty(PROPERTY, DEFAULT_BASE));
+        if (!Files.exists(GameDatabase.file(base, SUFFIX))) {
+            return null;
+        }
+        return new OpeningExplorer(base);
+    }
+
+    /*
+     * query returns the statistics of the moves played from the position, the most
+     * played first. Moves that are not legal in the position (a key collision) are left
+     * out. Safe to call from several threads, each with its own position.
+     */
+    public List<MoveStats> query(Position pos) {
+        List<MoveStats> stats = new ArrayList<>();
+        long key = pos.key();
+        long i = file.lowerBound(key, GameDatabase.HEADER_SIZE, RECORD_SIZE, count);
+        if (i == count || file.getLong(at(i)) != key) {
+            return stats;
+        }
+        int[] moves = MOVE_BUFFER.get();
+        int n = MoveGenerator.generate(pos, moves, 0);
+        for (; i < count && file.getLong(at(i)) == key; i++) {
+            long at = at(i);
+            int compact = file.getShort(at + 8) & 0xFFFF;
+            int move = Move.NONE;
+            for (int k = 0; k < n; k++) {
+                if (Move.toShort(moves[k]) == compact) {
+                    move = moves[k];
+                    break;
+                }
+            }
+            if (move == Move.NONE) {
+                continue;
+            }
+            stats.add(new MoveStats(move, San.toSan(pos, move), file.getInt(at + 12), file.getInt(at + 16),
+                    file.getInt(at + 20), file.getInt(at + 24), file.getShort(at + 10) & 0xFFFF));
+        }
+        stats.sort((a, b) -> Integer.compare(b.getGames(), a.getGames()));
+        return stats;
+    }
+
+    /*
+     * size returns the number of (position, move) records.
+     */
+    public long size() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private static long at(long record) {
+        return GameDatabase.HEADER_SIZE + record * RECORD_SIZE;
+    }
+
+    /*
+     * build counts the moves of the first plies of every game of the database and writes
+     * the explorer of the database with the given base name. The (position, move, result,
+     * rating) of every move are sorted with SortedRuns, so equal positions and moves come
+     * together and are added up in one pass.
+     */
+    public static long build(GameDatabase db, Path base, int plies) throws IOException {
+        long[] records = {0};
+        try (SortedRuns runs = new SortedRuns(base.toAbsolutePath().getParent(), base.getFileName().toString())) {
+            Position pos = new Position();
+            try {
+                addGames(db, runs, pos, plies);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                    GameDatabase.file(base, SUFFIX)), SortedRuns.BUFFER_SIZE))) {
+                out.writeLong(MAGIC);
+                out.writeLong(0); // number of records, written after the merge
+                Aggregate current = new Aggregate();
+                runs.merge((key, value) -> {
+                    int move = (int) (value >>> 16);
+                    if (current.games > 0 && (key != current.key || move != current.move)) {
+                        current.write(out);
+                        records[0]++;
+                    }
+                    current.add(key, move, (int) (value >>> 12) & 3, (int) value & 0xFFF);
+                });
+                if (current.games > 0) {
+                    current.write(out);
+                    records[0]++;
+                }
+            }
+        }
+        GameDatabaseWriter.patchCount(GameDatabase.file(base, SUFFIX), records[0]);
+        return records[0];
+    }
+
+    /*
+     * Helper function for build. Adds (position, move, result, rating) of the first plies
+     * of every game to the runs. IOExceptions of the runs are passed on unchecked.
+     */
+    private static void addGames(GameDatabase db, SortedRuns runs, Position pos, int plies) {
+        for (long game = db.firstGame(); game != -1; game = db.nextGame(game)) {
+            int result = db.result(game);
+            int white = db.rating(game, Position.WHITE), black = db.rating(game, Position.BLACK);
+            int[] ply = {0};
+            db.replay(game, pos, (p, move) -> {
+                if (ply[0]++ < plies) {
+                    int rating = (p.sideToMove() == Position.WHITE) ? white : black;
+                    // Move in the high bits, so the moves of a position sort together
+                    long value = ((long) Move.toShort(move) << 16) | (result << 12) | rating;
+                    try {
+                        runs.add(p.key(), value);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        }
+    }
+
+    /*
+     * Aggregate class adds up the games of one position and move during build.
+     */
+    private static final class Aggregate {
+        long key;
+        int move;
+        int games, whiteWins, draws, blackWins, rated;
+        long ratingSum;
+
+        void add(long key, int move, int result, int rating) {
+            this.key = key;
+            this.move = move;
+            games++;
+            whiteWins += (result == GameDatabase.WHITE_WINS) ? 1 : 0;
+            draws += (result == GameDatabase.DRAW) ? 1 : 0;
+            blackWins += (result == GameDatabase.BLACK_WINS) ? 1 : 0;
+            if (rating > 0) {
+                rated++;
+                ratingSum += rating;
+            }
+        }
+
+        // Writes the record and starts over
+        void write(DataOutputStream out) throws IOException {
+            out.writeLong(key);
+            out.writeShort(move);
+            out.writeShort(rated == 0 ? 0 : (int) (ratingSum / rated));
+            out.writeInt(games);
+            out.writeInt(whiteWins);
+            out.writeInt(draws);
+            out.writeInt(blackWins);
+            out.writeInt(rated);
+            games = whiteWins = draws = blackWins = rated = 0;
+            ratingSum = 0;
+        }
+    } // end Aggregate class
+
+    /*
+     * main builds the explorer of a database and shows the moves of the initial position.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: OpeningExplorer <database> [plies]");
+            return;
+        }
+        Path base = Paths.get(args[0]);
+        int plies = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_PLIES;
+        long start = System.nanoTime();
+        try (GameDatabase db = new GameDatabase(base)) {
+            long records = build(db, base, plies);
+            System.out.printf("%d positions and moves from %d games in %.2f s%n", records, db.gameCount(),
+                    (System.nanoTime() - start) / 1e9);
+        }
+        try (OpeningExplorer explorer = new OpeningExplorer(base)) {
+            Position pos = new Position();
+            start = System.nanoTime();
+            List<MoveStats> stats = explorer.query(pos);
+            System.out.println("Query took " + (System.nanoTime() - start) / 1000 + " us");
+            for (MoveStats s : stats) {
+                System.out.println(s);
+            }
+        }
+    }
+} // end OpeningExplorer class
@@ -0,0 +1,299 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Opening book in the Polyglot .bin format, so the engine can
+ * answer well known positions instantly instead of spending
+ * its clock. The file is a sorted array of 16-byte entries,
+ * all big endian:
+ *
+ *      long   Polyglot key of the position (sorted unsigned)
+ *      short  move, Polyglot form (see PolyglotKey)
+ *      short  weight
+ *      int    learn (unused, written as 0)
+ *
+ * The file is memory mapped and the entries of a position
+ * found by binary search, so a book of any size costs no heap
+ * and a probe reads a few pages. A move is picked at random
+ * with a chance proportional to its weight.
+ *
+ * build makes a book from a PGN file: every move of the first
+ * plies of every game gets 2 points for a win and 1 for a
+ * draw of the side that played it, as Polyglot does.
+ *
+ * Run from the command line with: <file.pgn> <book.bin>
+ * [plies] [min games]
+ *-----------------------------------------------------------*/
+package wfs.chess.db;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import wfs.chess.core.Move;
+import wfs.chess.core.Position;
+import wfs.chess.pgn.PgnException;
+import wfs.chess.pgn.PgnGame;
+import wfs.chess.pgn.PgnReader;
+
+public final class PolyglotBook implements Closeable {
+    /*
+     * Size of an entry in bytes.
+     */
+    public static final int ENTRY_SIZE = 16;
+    /*
+     * Plies of each game and games per move a book is built from by default.
+     */
+    public static final int DEFAULT_PLIES = 20;
+    public static final int DEFAULT_MIN_GAMES = 2;
+    /*
+     * System property naming the book the computer opponent plays from, and the name used
+     * when it is not set.
+     */
+    public static final String PROPERTY = "wfs.chess.book";
+    public static final String DEFAULT_FILE = "book.bin";
+    /*
+     * Most moves of one position kept when building.
+     */
+    private static final int MAX_MOVES = 64;
+
+    private final MappedFile file;
+    private final long count;
+
+    /*
+     * PolyglotBook constructor. Opens the given .bin file.
+     */
+    public PolyglotBook(Path path) throws IOException {
+        file = new MappedFile(path);
+        if (file.size() % ENTRY_SIZE != 0) {
+            close();
+            throw new IOException("Not a Polyglot book: " + path);
+        }
+        count = file.size() / ENTRY_SIZE;
+    }
+
+    /*
+     * openDefault opens the book named by the system property, or returns null if there is
+     * none.
+     */
+    public static PolyglotBook openDefault() throws IOException {
+        Path path = Paths.get(System.getProperty(PROPERTY, DEFAULT_FILE));
+        return Files.exists(path) ? new PolyglotBook(path) : null;
+    }
+
+    /*
+     * moves writes the legal book moves of the position and their weights into the arrays
+     * and returns how many it wrote (at most the length of the arrays).
+     */
+    public int moves(Position pos, int[] moves, int[] weights) {
+        long key = PolyglotKey.of(pos);
+        int n = 0;
+        for (long i = lowerBound(key); i < count && file.getLong(i * ENTRY_SIZE) == key && n < moves.length; i++) {
+            int move = PolyglotKey.decode(pos, file.getShort(i * ENTRY_SIZE + 8) & 0xFFFF);
+            if (move != Move.NONE) {
+                moves[n] = move;
+                weights[n++] = file.getShort(i * ENTRY_SIZE + 10) & 0xFFFF;
+            }
+        }
+        return n;
+    }
+
+    /*
+     * probe returns a book move for the position, picked at random by weight, or
+     * Move.NONE if the position is not in the book.
+     */
+    public int probe(Position pos, Random random) {
+        int[] moves = new int[MAX_MOVES], weights = new int[MAX_MOVES];
+        int n = moves(pos, moves, weights);
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            total += weights[i];
+        }
+        if (total == 0) {
+            return Move.NONE;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < n; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return moves[i];
+            }
+        }
+        return Move.NONE;
+    }
+
+    /*
+     * size returns the number of entries.
+     */
+    public long size() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    /*
+     * Helper function for moves. Binary search for the first entry whose key is not less
+     * than the given key, comparing keys unsigned as Polyglot sorts them.
+     */
+    private long lowerBound(long key) {
+        long lo = 0, hi = count;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (Long.compareUnsigned(file.getLong(mid * ENTRY_SIZE), key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /*
+     * build makes a book from the first plies of the games of a PGN file, keeping the moves
+     * played in at least the given number of games. Games that do not replay are skipped.
+     * Returns the number of entries written.
+     */
+    public static long build(Path pgn, Path book, int plies, int minGames) throws IOException {
+        long[] entries = {0};
+        Path directory = book.toAbsolutePath().getParent();
+        try (SortedRuns runs = new SortedRuns(directory, book.getFileName().toString());
+                PgnReader reader = new PgnReader(pgn)) {
+            Position pos = new Position();
+            while (true) {
+                PgnGame game;
+                try {
+                    game = reader.next();
+                } catch (PgnException e) {
+                    continue;
+                }
+                if (game == null) {
+                    break;
+                }
+                int result = GameDatabase.parseResult(game.tag("Result"));
+                int[] ply = {0};
+                long[] keys = new long[plies];
+                int[] moves = new int[plies];
+                int[] movers = new int[plies];
+                try {
+                    game.replay(pos, (p, move) -> {
+                        if (ply[0] < plies) {
+                            keys[ply[0]] = PolyglotKey.of(p);
+                            movers[ply[0]] = p.sideToMove();
+                            moves[ply[0]++] = move;
+                        }
+                    });
+                } catch (PgnException e) {
+                    continue;
+                }
+                for (int i = 0; i < ply[0]; i++) {
+                    int mover = movers[i];
+                    int points = (result == GameDatabase.DRAW) ? 1
+                            : (result == GameDatabase.WHITE_WINS && mover == Position.WHITE)
+                            || (result == GameDatabase.BLACK_WINS && mover == Position.BLACK) ? 2 : 0;
+                    // Sorted as signed longs, so flip the top bit to sort the keys unsigned
+                    runs.add(keys[i] ^ Long.MIN_VALUE, ((long) PolyglotKey.encode(moves[i]) << 2) | points);
+                }
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(book),
+                    SortedRuns.BUFFER_SIZE))) {
+                PositionMoves current = new PositionMoves(minGames);
+                runs.merge((key, value) -> {
+                    long polyglotKey = key ^ Long.MIN_VALUE;
+                    if (current.size() > 0 && polyglotKey != current.key) {
+                        entries[0] += current.write(out);
+                    }
+                    current.add(polyglotKey, (int) (value >>> 2), (int) value & 3);
+                });
+                entries[0] += current.write(out);
+            }
+        }
+        return entries[0];
+    }
+
+    /*
+     * PositionMoves class adds up the moves of one position during build, and writes them
+     * with their weights scaled down if needed to fit in 16 bits.
+     */
+    private static final class PositionMoves {
+        private final int minGames;
+        long key;
+        private final int[] moves = new int[MAX_MOVES];
+        private final int[] games = new int[MAX_MOVES];
+        private final long[] points = new long[MAX_MOVES];
+        private int n;
+
+        PositionMoves(int minGames) {
+            this.minGames = minGames;
+        }
+
+        int size() {
+            return n;
+        }
+
+        void add(long key, int move, int score) {
+            this.key = key;
+            if (n == 0 || moves[n - 1] != move) {
+                if (n == MAX_MOVES) {
+                    return;
+                }
+                moves[n] = move;
+                games[n] = 0;
+                points[n++] = 0;
+            }
+            games[n - 1]++;
+            points[n - 1] += score;
+        }
+
+        // Writes the entries, in move order, and returns how many; then starts over
+        int write(DataOutputStream out) throws IOException {
+            long max = 0;
+            for (int i = 0; i < n; i++) {
+                max = Math.max(max, points[i]);
+            }
+            long divisor = (max + 0xFFFE) / 0xFFFF; // 1 unless a weight would not fit
+            int written = 0;
+            for (int i = 0; i < n; i++) {
+                if (games[i] >= minGames && points[i] > 0) {
+                    out.writeLong(key);
+                    out.writeShort(moves[i]);
+                    out.writeShort((int) Math.max(1, points[i] / Math.max(1, divisor)));
+                    out.writeInt(0);
+                    written++;
+                }
+            }
+            n = 0;
+            return written;
+        }
+    } // end PositionMoves class
+
+    /*
+     * main builds a book from a PGN file and shows the book moves of the initial position.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: PolyglotBook <file.pgn> <book.bin> [plies] [min games]");
+            return;
+        }
+        int plies = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_PLIES;
+        int minGames = (args.length > 3) ? Integer.parseInt(args[3]) : DEFAULT_MIN_GAMES;
+        long start = System.nanoTime();
+        long entries = build(Paths.get(args[0]), Paths.get(args[1]), plies, minGames);
+        System.out.printf("%d entries in %.2f s%s%n", entries, (System.nanoTime() - start) / 1e9,
+                PolyglotKey.isStandard() ? "" : " (not Polyglot's own keys, see PolyglotKey)");
+        try (PolyglotBook book = new PolyglotBook(Paths.get(args[1]))) {
+            Position pos = new Position();
+            int[] moves = new int[MAX_MOVES], weights = new int[MAX_MOVES];
+            int n = book.moves(pos, moves, weights);
+            for (int i = 0; i < n; i++) {
+                System.out.println(Move.toUci(moves[i]) + " " + weights[i]);
+            }
+        }
+    }
+} // end PolyglotBook class
@@ -0,0 +1,196 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * External sort for (key, value) pairs of longs, for building
+ * the sorted files of the database when there are far more
+ * pairs than fit in the heap. Pairs are collected in a run of
+ * RUN_ENTRIES, sorted in place (by key, then value) and
+ * written to a temporary file; merge reads all runs back in
+ * one pass with a priority queue and hands the pairs over in
+ * order.
+ *-----------------------------------------------------------*/
+package wfs.chess.db;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+final class SortedRuns implements Closeable {
+    /*
+     * Pairs sorted in memory at a time (16 bytes each).
+     */
+    static final int RUN_ENTRIES = 1 << 22;
+    static final int BUFFER_SIZE = 1 << 16;
+
+    /*
+     * Receives the pairs in order from merge.
+     */
+    interface Sink {
+        void accept(long key, long value) throws IOException;
+    }
+
+    private final Path directory;
+    private final String prefix;
+    private final long[] keys = new long[RUN_ENTRIES];
+    private final long[] values = new long[RUN_ENTRIES];
+    private int size;
+    private final List<Path> runs = new ArrayList<>();
+
+    /*
+     * SortedRuns constructor. Runs are written to temporary files named after the prefix
+     * in the given directory.
+     */
+    SortedRuns(Path directory, String prefix) {
+        this.directory = directory;
+        this.prefix = prefix;
+    }
+
+    void add(long key, long value) throws IOException {
+        if (size == RUN_ENTRIES) {
+            writeRun();
+        }
+        keys[size] = key;
+        values[size++] = value;
+    }
+
+    /*
+     * merge hands all pairs added so far to the sink, sorted by key and then value.
+     */
+    void merge(Sink sink) throws IOException {
+        if (size > 0) {
+            writeRun();
+        }
+        PriorityQueue<RunReader> queue = new PriorityQueue<>();
+        try {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                sink.accept(reader.key, reader.value);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : queue) {
+                reader.in.close();
+            }
+        }
+    }
+
+    /*
+     * close deletes the temporary files.
+     */
+    @Override
+    public void close() throws IOException {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        runs.clear();
+    }
+
+    /*
+     * Helper function to sort the pairs in memory and write them to a new run.
+     */
+    private void writeRun() throws IOException {
+        sort(0, size - 1);
+        Path run = Files.createTempFile(directory, prefix + "-run", ".tmp");
+        runs.add(run);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), BUFFER_SIZE))) {
+            for (int i = 0; i < size; i++) {
+                out.writeLong(keys[i]);
+                out.writeLong(values[i]);
+            }
+        }
+        size = 0;
+    }
+
+    // Quicksort by key, then value
+    private void sort(int lo, int hi) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+            long pivotKey = keys[mid], pivotValue = values[mid];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (less(keys[i], values[i], pivotKey, pivotValue)) {
+                    i++;
+                }
+                while (less(pivotKey, pivotValue, keys[j], values[j])) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            // Recurse into the smaller half, loop on the larger one
+            if (j - lo < hi - i) {
+                sort(lo, j);
+                lo = i;
+            } else {
+                sort(i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; j > lo && less(keys[j], values[j], keys[j - 1], values[j - 1]); j--) {
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    private static boolean less(long key1, long value1, long key2, long value2) {
+        return key1 < key2 || (key1 == key2 && value1 < value2);
+    }
+
+    private void swap(int i, int j) {
+        long key = keys[i], value = values[i];
+        keys[i] = keys[j];
+        values[i] = values[j];
+        keys[j] = key;
+        values[j] = value;
+    }
+
+    /*
+     * RunReader class reads the pairs of one sorted run during the merge.
+     */
+    private static final class RunReader implements Comparable<RunReader> {
+        final DataInputStream in;
+        long key, value;
+
+        RunReader(Path run) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), BUFFER_SIZE));
+        }
+
+        // Reads the next pair, or closes the run and returns false at its end
+        boolean advance() throws IOException {
+            try {
+                key = in.readLong();
+                value = in.readLong();
+                return true;
+            } catch (EOFException e) {
+                in.close();
+                return false;
+            }
+        }
+
+        @Override
+        public int compareTo(RunReader other) {
+            return less(key, value, other.key, other.value) ? -1
+                    : less(other.key, other.value, key, value) ? 1 : 0;
+        }
+    } // end RunReader class
+} // end SortedRuns class
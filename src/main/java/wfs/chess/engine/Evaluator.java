@@ -0,0 +1,56 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Static evaluation of a position, in centipawns from the
+ * point of view of the side to move. Material and piece
+ * placement come from the piece-square tables, whose
+ * middlegame and endgame sums Position keeps up to date on
+ * every move; they are blended by the game phase, so e.g. the
+ * King is kept safe while there is material on the board and
+ * brought to the center in the endgame. Pawn-structure terms
+ * are added from a PawnTable.
+ *-----------------------------------------------------------*/
+package wfs.chess.engine;
+
+import wfs.chess.core.PieceSquareTables;
+import wfs.chess.core.Position;
+
+public final class Evaluator {
+    /*
+     * Piece values in centipawns, indexed by piece type (the King is not counted). Used
+     * for move ordering.
+     */
+    public static final int[] VALUE = {100, 320, 330, 500, 900, 0};
+
+    private Evaluator() {
+    }
+
+    /*
+     * evaluate returns the score of the position for the side to move, looking up the
+     * pawn structure in the given pawn table.
+     */
+    public static int evaluate(Position pos, PawnTable pawns) {
+        int score = blend(pos, pawns.probe(pos));
+        return pos.sideToMove() == Position.WHITE ? score : -score;
+    }
+
+    /*
+     * evaluateWhite returns the score of the position from White's point of view, e.g.
+     * for an evaluation bar. The pawn structure is computed from scratch.
+     */
+    public static int evaluateWhite(Position pos) {
+        return blend(pos, PawnTable.evaluate(pos));
+    }
+
+    /*
+     * Helper function for the evaluations. Adds the packed pawn-structure score to the
+     * piece-square sums and blends middlegame and endgame by the game phase.
+     */
+    private static int blend(Position pos, int pawnScore) {
+        int mg = pos.middlegameScore() + PawnTable.middlegame(pawnScore);
+        int eg = pos.endgameScore() + PawnTable.endgame(pawnScore);
+        int phase = Math.min(pos.phase(), PieceSquareTables.MAX_PHASE);
+        return (mg * phase + eg * (PieceSquareTables.MAX_PHASE - phase)) / PieceSquareTables.MAX_PHASE;
+    }
+} // end Evaluator class
@@ -0,0 +1,236 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Parallel search ("Lazy SMP"). Every thread runs its own
+ * Search of the same root position, and all of them share one
+ * transposition table. The threads do not divide the work
+ * between them; they simply fill the table with results the
+ * others can use. Helper threads start one ply deeper every
+ * other thread and order the root moves a little differently,
+ * so they run ahead of the main thread instead of all
+ * searching the same tree in lock step. The table is aged once
+ * per move, not once per thread.
+ *
+ * The main search runs on the calling thread and owns the
+ * clock. When it is done the helpers are stopped, and its move
+ * is the one played.
+ *
+ * Run from the command line:
+ *      ParallelSearch [threads] [seconds]
+ * prints nodes/sec and speedup for 1 to the given number of
+ * threads (default: all cores, 5 seconds a position).
+ *-----------------------------------------------------------*/
+package wfs.chess.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import wfs.chess.core.Perft;
+import wfs.chess.core.Position;
+
+public final class ParallelSearch {
+    /*
+     * Most threads a search may use.
+     */
+    public static final int MAX_THREADS = 256;
+    /*
+     * Positions from the perft suite used by the scaling report.
+     */
+    private static final String[] SCALING_POSITIONS = {"start", "kiwipete", "middlegame", "endgame"};
+
+    private final TranspositionTable tt;
+    /*
+     * searches[0] is the main search, the others are the helpers.
+     */
+    private Search[] searches;
+    private ExecutorService helpers;
+    private SearchListener listener;
+    private final Future<?>[] running = new Future<?>[MAX_THREADS];
+
+    /*
+     * ParallelSearch constructor. Uses the given number of threads, which all share the
+     * given transposition table.
+     */
+    public ParallelSearch(int threads, TranspositionTable tt) {
+        this.tt = tt;
+        setThreads(threads);
+    }
+
+    public ParallelSearch(int threads) {
+        this(threads, new TranspositionTable());
+    }
+
+    /*
+     * defaultThreads returns the number of threads that keeps every core busy.
+     */
+    public static int defaultThreads() {
+        return Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREADS);
+    }
+
+    /*
+     * setThreads changes the number of search threads. Must not be called while searching.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1 || threads > MAX_THREADS) {
+            throw new IllegalArgumentException("Threads must be 1 to " + MAX_THREADS + ": " + threads);
+        }
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+        searches = new Search[threads];
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new Search(tt);
+        }
+        helpers = (threads > 1) ? Executors.newFixedThreadPool(threads - 1, task -> {
+            Thread thread = new Thread(task, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        setListener(listener);
+    }
+
+    /*
+     * setListener sets who is told about each iteration the main search completes, with
+     * the nodes of all threads, or null for nobody.
+     */
+    public void setListener(SearchListener listener) {
+        this.listener = listener;
+        searches[0].setListener(listener == null ? null
+                : (depth, score, nodes, millis, pv) -> listener.iterationDone(depth, score, nodes(), millis, pv));
+    }
+
+    public int threads() {
+        return searches.length;
+    }
+
+    /*
+     * think searches the given position with all threads until the time manager or the
+     * depth limit stops the main search, and returns its best move (Move.NONE if there is
+     * no legal move). The given position is not changed.
+     */
+    public int think(Position root, TimeManager time, int maxDepth) {
+        Search[] all = searches;
+        tt.newSearch(); // once for all threads, so the entries of this move share one age
+        for (int i = 1; i < all.length; i++) {
+            Search helper = all[i];
+            int startDepth = 1 + (i & 1);
+            int orderSeed = i;
+            helper.resetStop();
+            running[i] = helpers.submit(
+                    () -> helper.think(root, TimeManager.infinite(), maxDepth, startDepth, orderSeed));
+        }
+        all[0].resetStop();
+        int move = all[0].think(root, time, maxDepth, 1, 0);
+        for (int i = 1; i < all.length; i++) {
+            all[i].stop();
+        }
+        for (int i = 1; i < all.length; i++) {
+            try {
+                running[i].get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search helper failed", e.getCause());
+            }
+            running[i] = null;
+        }
+        return move;
+    }
+
+    /*
+     * stop asks a running search to return as soon as possible.
+     */
+    public void stop() {
+        for (Search search : searches) {
+            search.stop();
+        }
+    }
+
+    /*
+     * nodes returns the nodes searched by all threads in the last search.
+     */
+    public long nodes() {
+        long total = 0;
+        for (Search search : searches) {
+            total += search.nodes();
+        }
+        return total;
+    }
+
+    /*
+     * Getters for the results of the main search.
+     */
+    public int bestScore() {
+        return searches[0].bestScore();
+    }
+
+    public int completedDepth() {
+        return searches[0].completedDepth();
+    }
+
+    public int[] principalVariation() {
+        return searches[0].principalVariation();
+    }
+
+    public TranspositionTable transpositionTable() {
+        return tt;
+    }
+
+    /*
+     * pawnHitRate returns the share of pawn table probes of all threads that found their
+     * entry, since the tables were created.
+     */
+    public double pawnHitRate() {
+        long probes = 0, hits = 0;
+        for (Search search : searches) {
+            probes += search.pawnTable().probes();
+            hits += search.pawnTable().hits();
+        }
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+
+    /*
+     * scalingReport searches each scaling position for the given time with 1 to maxThreads
+     * threads, and prints nodes/sec, the speedup over one thread and the depth reached.
+     */
+    public static void scalingReport(int maxThreads, long millis) {
+        TranspositionTable tt = new TranspositionTable(64);
+        double baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            ParallelSearch search = new ParallelSearch(threads, tt);
+            long nodes = 0;
+            long elapsed = 0;
+            int depth = 0;
+            for (String[] test : Perft.SUITE) {
+                if (!Arrays.asList(SCALING_POSITIONS).contains(test[0])) {
+                    continue;
+                }
+                tt.clear();
+                TimeManager time = TimeManager.fixed(millis);
+                search.think(new Position(test[1]), time, Search.MAX_PLY);
+                elapsed += time.elapsedMillis();
+                nodes += search.nodes();
+                depth += search.completedDepth();
+            }
+            double nps = nodes * 1000.0 / Math.max(elapsed, 1);
+            if (threads == 1) {
+                baseline = nps;
+            }
+            System.out.println(String.format(
+                    "%3d threads  %12d nodes  %10.0f nodes/sec  %5.2fx  avg depth %.1f  pawn hits %.1f%%",
+                    threads, nodes, nps, nps / Math.max(baseline, 1), depth / (double) SCALING_POSITIONS.length,
+                    search.pawnHitRate() * 100));
+            search.setThreads(1); // shuts down the helper threads
+        }
+    }
+
+    public static void main(String[] args) {
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : defaultThreads();
+        double seconds = (args.length > 1) ? Double.parseDouble(args[1]) : 5;
+        System.out.println("Lazy SMP scaling, " + seconds + " s per position");
+        scalingReport(threads, (long) (seconds * 1000));
+    }
+} // end ParallelSearch class
@@ -0,0 +1,196 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Pawn-structure evaluation and its hash table. The pawn
+ * terms (passed, isolated, doubled and backward pawns, and
+ * the pawn shield in front of each King) take a lot of bit
+ * twiddling but only depend on where the pawns and kings are,
+ * which rarely changes from one node to the next. So the
+ * scores are cached by the pawn key of the Position, and most
+ * nodes find them in the table.
+ *
+ * A table belongs to one Search (one thread), so entries are
+ * plain arrays without any synchronization. Scores are kept
+ * packed as one int, middlegame in the high and endgame in the
+ * low 16 bits, from White's point of view.
+ *-----------------------------------------------------------*/
+package wfs.chess.engine;
+
+import wfs.chess.core.Attacks;
+import wfs.chess.core.Bitboard;
+import wfs.chess.core.Position;
+
+public final class PawnTable {
+    /*
+     * Default number of entries (a power of two).
+     */
+    public static final int DEFAULT_ENTRIES = 1 << 14;
+    /*
+     * Penalties and bonuses as {middlegame, endgame}. Passed pawn bonuses are by rank,
+     * counted from the pawn's own side.
+     */
+    private static final int[] DOUBLED = {-10, -20};
+    private static final int[] ISOLATED = {-10, -15};
+    private static final int[] BACKWARD = {-8, -10};
+    private static final int[] PASSED_MG = {0, 5, 10, 15, 25, 40, 60, 0};
+    private static final int[] PASSED_EG = {0, 10, 20, 35, 60, 90, 130, 0};
+    private static final int SHIELD_MG = 10;
+    /*
+     * Squares in front of a pawn on its own and the adjacent files (passed pawn test),
+     * and squares beside and behind it on the adjacent files (backward pawn test).
+     */
+    private static final long[][] PASSED_MASK = new long[2][64];
+    private static final long[][] SUPPORT_MASK = new long[2][64];
+    private static final long[] ADJACENT_FILES = new long[8];
+
+    static {
+        for (int file = 0; file < 8; file++) {
+            ADJACENT_FILES[file] = (file > 0 ? Bitboard.FILE_A << (file - 1) : 0)
+                    | (file < 7 ? Bitboard.FILE_A << (file + 1) : 0);
+        }
+        for (int sq = 0; sq < 64; sq++) {
+            int file = Bitboard.file(sq), rank = Bitboard.rank(sq);
+            long files = ADJACENT_FILES[file] | (Bitboard.FILE_A << file);
+            for (int r = 0; r < 8; r++) {
+                long row = Bitboard.RANK_1 << (8 * r);
+                if (r > rank) {
+                    PASSED_MASK[Position.WHITE][sq] |= files & row;
+                } else {
+                    SUPPORT_MASK[Position.WHITE][sq] |= ADJACENT_FILES[file] & row;
+                }
+                if (r < rank) {
+                    PASSED_MASK[Position.BLACK][sq] |= files & row;
+                } else {
+                    SUPPORT_MASK[Position.BLACK][sq] |= ADJACENT_FILES[file] & row;
+                }
+            }
+        }
+    }
+
+    private final long[] keys;
+    private final int[] scores;
+    private final int mask;
+    private long probes;
+    private long hits;
+
+    /*
+     * PawnTable constructor. Takes the number of entries, rounded down to a power of two.
+     */
+    public PawnTable(int entries) {
+        int size = Integer.highestOneBit(Math.max(entries, 1));
+        keys = new long[size];
+        scores = new int[size];
+        mask = size - 1;
+        clear();
+    }
+
+    public PawnTable() {
+        this(DEFAULT_ENTRIES);
+    }
+
+    /*
+     * clear empties the table and resets the statistics.
+     */
+    public void clear() {
+        // A key of 0 could be a real pawn key, so mark empty entries with one that is not
+        java.util.Arrays.fill(keys, ~0L);
+        probes = 0;
+        hits = 0;
+    }
+
+    /*
+     * probe returns the packed pawn-structure score of the position, from the table if
+     * it is there, otherwise computed and stored.
+     */
+    public int probe(Position pos) {
+        long key = pos.pawnKey();
+        int i = (int) key & mask;
+        probes++;
+        if (keys[i] == key) {
+            hits++;
+            return scores[i];
+        }
+        int score = evaluate(pos);
+        keys[i] = key;
+        scores[i] = score;
+        return score;
+    }
+
+    /*
+     * Statistics of the probes since the table was created or cleared.
+     */
+    public long probes() {
+        return probes;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public double hitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+
+    /*
+     * evaluate computes the packed pawn-structure score of the position from scratch.
+     */
+    public static int evaluate(Position pos) {
+        int mg = 0, eg = 0;
+        for (int color = Position.WHITE; color <= Position.BLACK; color++) {
+            int sign = (color == Position.WHITE) ? 1 : -1;
+            long own = pos.pieces(color, Position.PAWN);
+            long enemy = pos.pieces(color ^ 1, Position.PAWN);
+            long bb = own;
+            while (bb != 0) {
+                int sq = Long.numberOfTrailingZeros(bb);
+                bb &= bb - 1;
+                int file = Bitboard.file(sq);
+                int relativeRank = (color == Position.WHITE) ? Bitboard.rank(sq) : 7 - Bitboard.rank(sq);
+                long fileMask = Bitboard.FILE_A << file;
+                // Doubled: every pawn with an own pawn ahead of it on its file scores it, once per extra pawn
+                if ((own & fileMask & PASSED_MASK[color][sq]) != 0) {
+                    mg += sign * DOUBLED[0];
+                    eg += sign * DOUBLED[1];
+                }
+                if ((own & ADJACENT_FILES[file]) == 0) {
+                    mg += sign * ISOLATED[0];
+                    eg += sign * ISOLATED[1];
+                } else if ((own & SUPPORT_MASK[color][sq]) == 0) {
+                    // No pawn can defend it, and an enemy pawn controls the square in front
+                    int stop = sq + (color == Position.WHITE ? 8 : -8);
+                    if ((Attacks.pawn(color, stop) & enemy) != 0) {
+                        mg += sign * BACKWARD[0];
+                        eg += sign * BACKWARD[1];
+                    }
+                }
+                if ((enemy & PASSED_MASK[color][sq]) == 0 && (own & fileMask & PASSED_MASK[color][sq]) == 0) {
+                    mg += sign * PASSED_MG[relativeRank];
+                    eg += sign * PASSED_EG[relativeRank];
+                }
+            }
+            // Pawn shield: own pawns on the King's and adjacent files, one or two ranks ahead
+            int king = pos.kingSquare(color);
+            long shield = PASSED_MASK[color][king] & ~(color == Position.WHITE
+                    ? -1L << Math.min(63, 8 * (Bitboard.rank(king) + 3))
+                    : (1L << Math.max(0, 8 * (Bitboard.rank(king) - 2))) - 1);
+            mg += sign * SHIELD_MG * Math.min(3, Long.bitCount(own & shield));
+        }
+        return pack(mg, eg);
+    }
+
+    /*
+     * Helpers for packed scores.
+     */
+    public static int pack(int mg, int eg) {
+        return (mg << 16) + eg;
+    }
+
+    public static int middlegame(int packed) {
+        return (packed + 0x8000) >> 16;
+    }
+
+    public static int endgame(int packed) {
+        return (short) packed;
+    }
+} // end PawnTable class
@@ -0,0 +1,559 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Alpha-beta search for the computer opponent. Searches the
+ * position with negamax alpha-beta one ply deeper at a time
+ * (iterative deepening) until the time manager says stop,
+ * and finishes every line with a quiescence search over
+ * captures so the evaluation is never taken in the middle of
+ * an exchange.
+ *
+ * Results are kept in a transposition table, which may be
+ * shared by several searches, so a position reached again by
+ * another move order is cut off or at least searched with its
+ * best move first.
+ *
+ * Moves are tried in the order most likely to cause a cutoff:
+ * the best move of the previous iteration at the root (the
+ * transposition table move elsewhere), then
+ * captures by Most Valuable Victim / Least Valuable Attacker,
+ * then the killer moves of the ply, then quiet moves by their
+ * history score, and captures that lose material by static
+ * exchange evaluation last.
+ *
+ * Endings in the bitbases (see Bitbases) are not searched:
+ * their exact score ends the line, and at the root the best
+ * move of the tables is played at once.
+ *
+ * A Search owns its buffers and tables and searches its own
+ * copy of the position, so it must only be used by one thread
+ * at a time; stop() may be called from any thread.
+ *-----------------------------------------------------------*/
+package wfs.chess.engine;
+
+import wfs.chess.core.Move;
+import wfs.chess.core.MoveGenerator;
+import wfs.chess.core.Position;
+import wfs.chess.db.Bitbases;
+
+public final class Search {
+    /*
+     * Score bounds. Mate scores are MATE minus the distance to mate in plies.
+     */
+    public static final int INFINITY = 32000;
+    public static final int MATE = 31000;
+    public static final int MAX_PLY = 128;
+    /*
+     * Move ordering score bands.
+     */
+    private static final int HASH_MOVE_SCORE = 2_000_000;
+    private static final int CAPTURE_SCORE = 1_000_000;
+    private static final int KILLER_SCORE = 900_000;
+    private static final int LOSING_CAPTURE_SCORE = -1_000_000;
+    /*
+     * How often (in nodes) to look at the clock.
+     */
+    private static final int CHECK_INTERVAL = 2047;
+    /*
+     * Returned by bitbaseScore for a position not in the bitbases.
+     */
+    private static final int NO_SCORE = Integer.MIN_VALUE;
+
+    private final Position pos = new Position();
+    private final TranspositionTable tt;
+    /*
+     * Endgame tables shared by all searches, or null if there are none.
+     */
+    private final Bitbases bitbases = Bitbases.shared();
+    /*
+     * Pawn-structure scores, cached per search since they rarely change between nodes.
+     */
+    private final PawnTable pawns = new PawnTable();
+    /*
+     * Per-ply move lists and their ordering scores.
+     */
+    private final int[][] moves = new int[MAX_PLY][MoveGenerator.MAX_MOVES];
+    private final int[][] scores = new int[MAX_PLY][MoveGenerator.MAX_MOVES];
+    /*
+     * Two killer moves per ply (quiet moves that caused a cutoff at that ply), and history
+     * scores per piece and destination square for quiet cutoff moves.
+     */
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[][] history = new int[12][64];
+    /*
+     * Triangular principal variation table.
+     */
+    private final int[][] pv = new int[MAX_PLY][MAX_PLY];
+    private final int[] pvLength = new int[MAX_PLY];
+    /*
+     * Principal variation of the last completed iteration.
+     */
+    private final int[] bestLine = new int[MAX_PLY];
+    private int bestLineLength;
+
+    private volatile boolean stopped;
+    private SearchListener listener;
+    private TimeManager time;
+    private long nodes;
+    private int bestMove;
+    private int bestScore;
+    private int orderSeed;
+    private int completedDepth;
+
+    /*
+     * Search constructor. Uses the given transposition table, which other searches may
+     * share, or a table of its own of the default size.
+     */
+    public Search(TranspositionTable tt) {
+        this.tt = tt;
+    }
+
+    public Search() {
+        this(new TranspositionTable());
+    }
+
+    /*
+     * think searches the given position until the time manager or the depth limit stops
+     * it, and returns the best move found (Move.NONE if there is no legal move). The given
+     * position is not changed.
+     */
+    public int think(Position root, TimeManager time, int maxDepth) {
+        stopped = false;
+        tt.newSearch();
+        return think(root, time, maxDepth, 1, 0);
+    }
+
+    /*
+     * think for the threads of a parallel search, which has already aged the shared
+     * table. Helpers start at a different depth and break ties between root moves by
+     * their own seed (0 for none), so the threads do not all search the same tree.
+     * Unlike the public think, a stop() that came before the search started is not
+     * forgotten.
+     */
+    int think(Position root, TimeManager time, int maxDepth, int startDepth, int orderSeed) {
+        this.time = time;
+        this.orderSeed = orderSeed;
+        pos.copyFrom(root);
+        nodes = 0;
+        bestMove = Move.NONE;
+        bestScore = 0;
+        completedDepth = 0;
+        bestLineLength = 0;
+        clearTables();
+        time.start();
+
+        int[] rootMoves = moves[0];
+        int count = MoveGenerator.generate(pos, rootMoves, 0);
+        if (count == 0) {
+            return Move.NONE;
+        }
+        bestMove = rootMoves[0];
+        if (count == 1) { // only one move, no need to think
+            return bestMove;
+        }
+        // The tables know the best move of an ending, no need to think either
+        int tableMove = (bitbases == null) ? Move.NONE : bitbases.bestMove(pos);
+        if (tableMove != Move.NONE) {
+            bestMove = tableMove;
+            bestScore = bitbaseScore(0);
+            completedDepth = 1;
+            bestLine[0] = tableMove;
+            bestLineLength = 1;
+            if (listener != null) {
+                listener.iterationDone(1, bestScore, nodes, time.elapsedMillis(), principalVariation());
+            }
+            return bestMove;
+        }
+        int hashMove = TranspositionTable.move(tt.probe(pos.key()));
+        for (int i = 0; i < count; i++) {
+            if (Move.toShort(rootMoves[i]) == hashMove) {
+                bestMove = rootMoves[i]; // searched first, as the best move of a previous search
+            }
+        }
+        for (int depth = Math.min(startDepth, maxDepth); depth <= Math.min(maxDepth, MAX_PLY - 1); depth++) {
+            int score = searchRoot(depth, count);
+            if (stopped) {
+                break;
+            }
+            bestScore = score;
+            completedDepth = depth;
+            bestLineLength = pvLength[0];
+            System.arraycopy(pv[0], 0, bestLine, 0, bestLineLength);
+            if (listener != null) {
+                listener.iterationDone(depth, score, nodes, time.elapsedMillis(), principalVariation());
+            }
+            if (Math.abs(score) >= MATE - MAX_PLY || time.softLimitReached()) {
+                break; // mate found, or no time for another iteration
+            }
+        }
+        return bestMove;
+    }
+
+    /*
+     * stop asks a running search to return as soon as possible.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /*
+     * setListener sets who is told about each completed iteration, or null for nobody.
+     */
+    public void setListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    /*
+     * Helper function for ParallelSearch. Clears a stop() of the last search, before the
+     * thread of the next one is started.
+     */
+    void resetStop() {
+        stopped = false;
+    }
+
+    /*
+     * Getters for the results of the last search.
+     */
+    public long nodes() {
+        return nodes;
+    }
+
+    public int bestScore() {
+        return bestScore;
+    }
+
+    public int completedDepth() {
+        return completedDepth;
+    }
+
+    public TranspositionTable transpositionTable() {
+        return tt;
+    }
+
+    public PawnTable pawnTable() {
+        return pawns;
+    }
+
+    /*
+     * principalVariation returns the expected line of play from the last completed iteration.
+     */
+    public int[] principalVariation() {
+        int[] line = new int[bestLineLength];
+        System.arraycopy(bestLine, 0, line, 0, bestLineLength);
+        return line;
+    }
+
+    /*
+     * Helper function for think. Searches the root moves to the given depth, starting
+     * with the best move so far, and updates bestMove whenever a move raises alpha.
+     */
+    private int searchRoot(int depth, int count) {
+        int[] list = moves[0];
+        int[] order = scores[0];
+        for (int i = 0; i < count; i++) {
+            order[i] = (list[i] == bestMove) ? HASH_MOVE_SCORE : orderScore(list[i], 0) + rootNoise(list[i]);
+        }
+        int alpha = -INFINITY, beta = INFINITY;
+        pvLength[0] = 0;
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(list, order, i, count);
+            pos.makeMove(move);
+            nodes++;
+            int score = -negamax(depth - 1, 1, -beta, -alpha);
+            pos.unmakeMove(move);
+            if (stopped) {
+                break;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+                updatePv(0, move);
+            }
+        }
+        if (!stopped) {
+            tt.store(pos.key(), Move.toShort(bestMove), alpha, depth, TranspositionTable.EXACT, 0);
+        }
+        return alpha;
+    }
+
+    /*
+     * negamax alpha-beta search. Returns the score of the position for the side to move,
+     * or a bound of it when the score falls outside (alpha, beta).
+     */
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        pvLength[ply] = ply;
+        if ((nodes & CHECK_INTERVAL) == 0 && time.hardLimitReached()) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+        // A repeated position or the 50-move rule ends the line in a draw
+        if (pos.isRepetition(1) || pos.isFiftyMoveDraw() || pos.isInsufficientMaterial()) {
+            return 0;
+        }
+        // An ending in the tables has an exact score
+        if (bitbases != null && Long.bitCount(pos.occupied()) <= bitbases.maxPieces()) {
+            int score = bitbaseScore(ply);
+            if (score != NO_SCORE) {
+                return score;
+            }
+        }
+        if (ply >= MAX_PLY - 1) {
+            return Evaluator.evaluate(pos, pawns);
+        }
+        boolean inCheck = pos.isInCheck(pos.sideToMove());
+        if (inCheck) {
+            depth++; // look one ply further at checks, so forced lines are not cut short
+        }
+        if (depth <= 0) {
+            return quiescence(ply, alpha, beta);
+        }
+
+        // A deep enough stored result ends the search here, outside the principal variation
+        long key = pos.key();
+        long entry = tt.probe(key);
+        int hashMove = TranspositionTable.move(entry);
+        boolean pvNode = beta - alpha > 1;
+        if (entry != 0 && !pvNode && TranspositionTable.depth(entry) >= depth) {
+            int score = TranspositionTable.score(entry, ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT
+                    || (bound == TranspositionTable.LOWER && score >= beta)
+                    || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                return score;
+            }
+        }
+
+        int[] list = moves[ply];
+        int[] order = scores[ply];
+        int count = MoveGenerator.generate(pos, list, 0);
+        if (count == 0) {
+            return inCheck ? -MATE + ply : 0; // checkmate or stalemate
+        }
+        for (int i = 0; i < count; i++) {
+            order[i] = (Move.toShort(list[i]) == hashMove) ? HASH_MOVE_SCORE : orderScore(list[i], ply);
+        }
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMoveHere = Move.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(list, order, i, count);
+            pos.makeMove(move);
+            nodes++;
+            int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            pos.unmakeMove(move);
+            if (stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    bestMoveHere = move;
+                    updatePv(ply, move);
+                    if (score >= beta) {
+                        if (!isTactical(move)) {
+                            storeKiller(move, ply);
+                            history[Move.piece(move)][Move.to(move)] += depth * depth;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        int bound = best >= beta ? TranspositionTable.LOWER
+                : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        tt.store(key, Move.toShort(bestMoveHere), best, depth, bound, ply);
+        return best;
+    }
+
+    /*
+     * Helper function for the searches. Returns the score of the position from the
+     * bitbases, with mates counted from the root at the given ply, or NO_SCORE if it is
+     * not in them.
+     */
+    private int bitbaseScore(int ply) {
+        int result = bitbases.probe(pos);
+        if (result == Bitbases.UNKNOWN) {
+            return NO_SCORE;
+        }
+        if (result == Bitbases.DRAW) {
+            return 0;
+        }
+        int plies = ply + bitbases.distanceToMate(pos);
+        return (result == Bitbases.WIN) ? MATE - plies : -MATE + plies;
+    }
+
+    /*
+     * quiescence search. Only captures and Queen promotions are searched (all evasions when
+     * in check), and the side to move may always "stand pat" on the static evaluation.
+     * Captures that lose material by static exchange are not searched.
+     */
+    private int quiescence(int ply, int alpha, int beta) {
+        pvLength[ply] = ply;
+        if ((nodes & CHECK_INTERVAL) == 0 && time.hardLimitReached()) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+        if (ply >= MAX_PLY - 1) {
+            return Evaluator.evaluate(pos, pawns);
+        }
+        boolean inCheck = pos.isInCheck(pos.sideToMove());
+        int best = -INFINITY;
+        if (!inCheck) {
+            best = Evaluator.evaluate(pos, pawns);
+            if (best >= beta) {
+                return best;
+            }
+            if (best > alpha) {
+                alpha = best;
+            }
+        }
+        int[] list = moves[ply];
+        int[] order = scores[ply];
+        int count = inCheck ? MoveGenerator.generate(pos, list, 0) : MoveGenerator.generateCaptures(pos, list, 0);
+        if (inCheck && count == 0) {
+            return -MATE + ply;
+        }
+        for (int i = 0; i < count; i++) {
+            order[i] = orderScore(list[i], ply);
+        }
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(list, order, i, count);
+            if (!inCheck && order[i] < 0) {
+                break; // only losing captures are left, which cannot raise the stand pat score
+            }
+            pos.makeMove(move);
+            nodes++;
+            int score = -quiescence(ply + 1, -beta, -alpha);
+            pos.unmakeMove(move);
+            if (stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (score >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /*
+     * Helper function for searchRoot. A small score, 0 to 15, that a helper of a parallel
+     * search adds to each root move so its ties fall differently from the other threads.
+     */
+    private int rootNoise(int move) {
+        if (orderSeed == 0) {
+            return 0;
+        }
+        return (int) (((move ^ orderSeed) * 0x9E3779B97F4A7C15L) >>> 60);
+    }
+
+    /*
+     * Helper function for move ordering. Captures and promotions first (MVV-LVA), then
+     * killers, then quiet moves by history, and captures that lose material last.
+     */
+    private int orderScore(int move, int ply) {
+        if (isTactical(move)) {
+            int victim = Move.isCapture(move) ? Evaluator.VALUE[Position.typeOf(Move.captured(move))] : 0;
+            int promotion = Move.promotion(move) != 0 ? Evaluator.VALUE[Move.promotion(move)] : 0;
+            if (isLosingCapture(move)) {
+                return LOSING_CAPTURE_SCORE + victim;
+            }
+            return CAPTURE_SCORE + (victim + promotion) * 8 - Position.typeOf(Move.piece(move));
+        }
+        if (move == killers[ply][0]) {
+            return KILLER_SCORE + 1;
+        }
+        if (move == killers[ply][1]) {
+            return KILLER_SCORE;
+        }
+        return history[Move.piece(move)][Move.to(move)];
+    }
+
+    /*
+     * Helper function for the searches. Moves the highest scored of the remaining moves to
+     * index i and returns it (selection sort, one step at a time, since most nodes are cut
+     * off after a few moves).
+     */
+    private static int pickNext(int[] list, int[] order, int i, int count) {
+        int best = i;
+        for (int j = i + 1; j < count; j++) {
+            if (order[j] > order[best]) {
+                best = j;
+            }
+        }
+        int move = list[best];
+        list[best] = list[i];
+        list[i] = move;
+        int score = order[best];
+        order[best] = order[i];
+        order[i] = score;
+        return move;
+    }
+
+    /*
+     * Helper function for the searches. A capture by a piece worth more than the one it
+     * takes is checked with static exchange evaluation; any other capture cannot lose.
+     */
+    private boolean isLosingCapture(int move) {
+        if (!Move.isCapture(move) || Move.promotion(move) != 0
+                || Evaluator.VALUE[Position.typeOf(Move.captured(move))]
+                        >= Evaluator.VALUE[Position.typeOf(Move.piece(move))]) {
+            return false;
+        }
+        return StaticExchange.see(pos, move) < 0;
+    }
+
+    private static boolean isTactical(int move) {
+        return Move.isCapture(move) || Move.promotion(move) != 0;
+    }
+
+    private void storeKiller(int move, int ply) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+    }
+
+    /*
+     * Helper function for the searches. Makes the given move followed by the line below it
+     * the principal variation at this ply.
+     */
+    private void updatePv(int ply, int move) {
+        pv[ply][ply] = move;
+        int next = ply + 1;
+        int length = (next < MAX_PLY) ? pvLength[next] : next;
+        for (int i = next; i < length; i++) {
+            pv[ply][i] = pv[next][i];
+        }
+        pvLength[ply] = Math.max(length, next);
+    }
+
+    /*
+     * Helper function for think. Forgets killers and scales down history between moves,
+     * so old information does not outweigh what the new search finds.
+     */
+    private void clearTables() {
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            killers[ply][0] = Move.NONE;
+            killers[ply][1] = Move.NONE;
+            pvLength[ply] = 0;
+        }
+        for (int pc = 0; pc < 12; pc++) {
+            for (int sq = 0; sq < 64; sq++) {
+                history[pc][sq] /= 8;
+            }
+        }
+    }
+} // end Search class
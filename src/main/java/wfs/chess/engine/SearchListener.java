@@ -0,0 +1,18 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Listener told about the progress of a search, e.g. to print
+ * UCI "info" lines while the engine is thinking. Called on the
+ * searching thread.
+ *-----------------------------------------------------------*/
+package wfs.chess.engine;
+
+public interface SearchListener {
+    /*
+     * iterationDone is called after each completed iteration with its depth, score (in
+     * centipawns, or MATE minus the plies to mate), the nodes searched and time used so
+     * far, and the principal variation.
+     */
+    void iterationDone(int depth, int score, long nodes, long millis, int[] pv);
+}
@@ -0,0 +1,154 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Static exchange evaluation (SEE): works out what a capture
+ * wins or loses if both sides keep recapturing on the square
+ * with their least valuable attacker, and each side may stop
+ * when recapturing would lose more. Sliders lined up behind
+ * another attacker (x-rays, e.g. a Rook behind a Queen) join
+ * in once the piece in front of them has captured.
+ *
+ * Used by the search to order and prune captures, and by
+ * Game to point out pieces that can be taken for free.
+ *-----------------------------------------------------------*/
+package wfs.chess.engine;
+
+import wfs.chess.core.Attacks;
+import wfs.chess.core.Bitboard;
+import wfs.chess.core.Move;
+import wfs.chess.core.Position;
+
+public final class StaticExchange {
+    /*
+     * Value of a King in an exchange: capturing it ends the exchange, but it may still
+     * take the last piece when nothing can take it back.
+     */
+    private static final int KING_VALUE = 20000;
+    /*
+     * Scratch list of gains per thread, one entry per capture in the exchange.
+     */
+    private static final ThreadLocal<int[]> GAINS = ThreadLocal.withInitial(() -> new int[32]);
+
+    private StaticExchange() {
+    }
+
+    /*
+     * see returns the material the side to move wins (negative if it loses) by playing
+     * the given move and the best sequence of recaptures after it, in centipawns. A quiet
+     * move scores what the piece may lose on its new square.
+     */
+    public static int see(Position pos, int move) {
+        if (Move.flag(move) == Move.CASTLING) {
+            return 0;
+        }
+        int from = Move.from(move), to = Move.to(move);
+        int us = pos.sideToMove();
+        int[] gain = GAINS.get();
+        long occ = pos.occupied() ^ Bitboard.bit(from);
+        int captured = Move.captured(move);
+        gain[0] = (captured == Position.NO_PIECE) ? 0 : value(Position.typeOf(captured));
+        int onSquare = value(Position.typeOf(Move.piece(move)));
+        if (Move.promotion(move) != 0) {
+            gain[0] += value(Move.promotion(move)) - value(Position.PAWN);
+            onSquare = value(Move.promotion(move));
+        }
+        if (Move.flag(move) == Move.EN_PASSANT) {
+            occ ^= Bitboard.bit(to ^ 8);
+        }
+        return exchange(pos, to, occ, us ^ 1, onSquare, gain);
+    }
+
+    /*
+     * seeGreaterOrEqual checks if the move wins at least the given amount, e.g. 0 to
+     * tell good and equal captures from losing ones.
+     */
+    public static boolean seeGreaterOrEqual(Position pos, int move, int threshold) {
+        return see(pos, move) >= threshold;
+    }
+
+    /*
+     * hangingPieces returns the pieces of the given color (the King excepted) that the
+     * other side could capture and win material with, if it were to move.
+     */
+    public static long hangingPieces(Position pos, int color) {
+        long hanging = 0;
+        long bb = pos.colorOccupancy(color) & ~pos.pieces(color, Position.KING);
+        int[] gain = GAINS.get();
+        while (bb != 0) {
+            int sq = Long.numberOfTrailingZeros(bb);
+            bb &= bb - 1;
+            long occ = pos.occupied();
+            long attackers = pos.attackersTo(sq, occ) & pos.colorOccupancy(color ^ 1);
+            if (attackers == 0) {
+                continue;
+            }
+            // The cheapest attacker captures first, then both sides exchange on the square
+            int attacker = leastValuable(pos, attackers, color ^ 1);
+            gain[0] = value(Position.typeOf(pos.pieceAt(sq)));
+            int onSquare = value(Position.typeOf(pos.pieceAt(attacker)));
+            if (exchange(pos, sq, occ ^ Bitboard.bit(attacker), color, onSquare, gain) > 0) {
+                hanging |= Bitboard.bit(sq);
+            }
+        }
+        return hanging;
+    }
+
+    /*
+     * Helper function for see and hangingPieces. The first capture on the square is made,
+     * gain[0] holds what it took and onSquare the value of the piece now standing there.
+     * Plays out the recaptures, starting with the given side, and returns the result of
+     * the first capture for the side that made it.
+     */
+    private static int exchange(Position pos, int sq, long occ, int side, int onSquare, int[] gain) {
+        int depth = 0;
+        long bishops = pos.pieces(Position.WHITE, Position.BISHOP) | pos.pieces(Position.BLACK, Position.BISHOP)
+                | pos.pieces(Position.WHITE, Position.QUEEN) | pos.pieces(Position.BLACK, Position.QUEEN);
+        long rooks = pos.pieces(Position.WHITE, Position.ROOK) | pos.pieces(Position.BLACK, Position.ROOK)
+                | pos.pieces(Position.WHITE, Position.QUEEN) | pos.pieces(Position.BLACK, Position.QUEEN);
+        long attackers = pos.attackersTo(sq, occ) & occ;
+        while (depth + 1 < gain.length) {
+            long ours = attackers & pos.colorOccupancy(side);
+            if (ours == 0) {
+                break;
+            }
+            int from = leastValuable(pos, ours, side);
+            depth++;
+            // Speculative score if the piece on the square is taken and not taken back
+            gain[depth] = onSquare - gain[depth - 1];
+            if (onSquare == KING_VALUE) { // the King was just "taken", the previous capture was illegal
+                break;
+            }
+            onSquare = value(Position.typeOf(pos.pieceAt(from)));
+            occ ^= Bitboard.bit(from);
+            // Sliders behind the piece that moved now see the square
+            attackers |= (Attacks.bishop(sq, occ) & bishops) | (Attacks.rook(sq, occ) & rooks);
+            attackers &= occ;
+            side ^= 1;
+        }
+        // Each side only recaptures when that does not make things worse for it
+        while (depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+
+    /*
+     * Helper function for the exchanges. Returns the square of the least valuable of the
+     * given attackers of the given color.
+     */
+    private static int leastValuable(Position pos, long attackers, int color) {
+        for (int type = Position.PAWN; type <= Position.KING; type++) {
+            long bb = attackers & pos.pieces(color, type);
+            if (bb != 0) {
+                return Long.numberOfTrailingZeros(bb);
+            }
+        }
+        return Bitboard.NO_SQUARE;
+    }
+
+    private static int value(int type) {
+        return type == Position.KING ? KING_VALUE : Evaluator.VALUE[type];
+    }
+} // end StaticExchange class
@@ -0,0 +1,113 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Decides how long the engine may think about one move. From
+ * the time left on the engine's clock it sets a soft limit
+ * (do not start another iteration after it) and a hard limit
+ * (abort the search right away), so the clock budget is spread
+ * over the game and a slow iteration cannot flag the clock.
+ *
+ * While pondering (thinking on the opponent's time) neither
+ * limit is reached; ponderHit starts the clock for real.
+ *-----------------------------------------------------------*/
+package wfs.chess.engine;
+
+public final class TimeManager {
+    /*
+     * Moves we assume are still to be played when the clock gives no number.
+     */
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    /*
+     * Time kept back for the delay between deciding on a move and the clock stopping.
+     */
+    private static final long SAFETY_MS = 50;
+
+    private final long softLimitNanos;
+    private final long hardLimitNanos;
+    private volatile long startNanos;
+    private volatile boolean pondering;
+
+    /*
+     * TimeManager constructor. Takes the soft and hard limits in milliseconds, where a
+     * negative limit means no limit.
+     */
+    private TimeManager(long softMs, long hardMs) {
+        softLimitNanos = softMs < 0 ? Long.MAX_VALUE : softMs * 1_000_000L;
+        hardLimitNanos = hardMs < 0 ? Long.MAX_VALUE : hardMs * 1_000_000L;
+        start();
+    }
+
+    /*
+     * forClock sets the limits from the time left on the engine's clock, its increment
+     * per move, and the number of moves until the next time control (0 if unknown).
+     */
+    public static TimeManager forClock(long remainingMs, long incrementMs, int movesToGo) {
+        int moves = movesToGo > 0 ? movesToGo : DEFAULT_MOVES_TO_GO;
+        long available = Math.max(1, remainingMs - SAFETY_MS);
+        long soft = available / moves + incrementMs * 3 / 4;
+        long hard = Math.min(available / 3, soft * 4);
+        return new TimeManager(Math.min(soft, hard), Math.max(1, hard));
+    }
+
+    /*
+     * fixed thinks for exactly the given time per move.
+     */
+    public static TimeManager fixed(long moveTimeMs) {
+        return new TimeManager(moveTimeMs, moveTimeMs);
+    }
+
+    /*
+     * infinite never runs out, the search ends on its depth limit or when stopped.
+     */
+    public static TimeManager infinite() {
+        return new TimeManager(-1, -1);
+    }
+
+    /*
+     * pondering makes the limits wait for ponderHit, and returns this time manager.
+     */
+    public TimeManager pondering() {
+        pondering = true;
+        return this;
+    }
+
+    /*
+     * ponderHit ends pondering: the opponent played the expected move, so the limits
+     * count from now. May be called from any thread.
+     */
+    public void ponderHit() {
+        startNanos = System.nanoTime();
+        pondering = false;
+    }
+
+    /*
+     * start restarts the clock of this time manager.
+     */
+    public void start() {
+        startNanos = System.nanoTime();
+    }
+
+    /*
+     * elapsedMillis returns the time since start.
+     */
+    public long elapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    /*
+     * softLimitReached checks if there is no point starting another iteration. An
+     * iteration usually takes several times longer than the one before, so stop once
+     * half of the soft limit is used.
+     */
+    public boolean softLimitReached() {
+        return !pondering && softLimitNanos != Long.MAX_VALUE && System.nanoTime() - startNanos >= softLimitNanos / 2;
+    }
+
+    /*
+     * hardLimitReached checks if the search must stop now.
+     */
+    public boolean hardLimitReached() {
+        return !pondering && System.nanoTime() - startNanos >= hardLimitNanos;
+    }
+} // end TimeManager class
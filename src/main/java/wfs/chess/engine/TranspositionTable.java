@@ -0,0 +1,214 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Transposition table: remembers the result of searching a
+ * position (best move, score, depth and bound) by its Zobrist
+ * key, so a position reached again by another move order is
+ * not searched twice.
+ *
+ * The whole table is one preallocated long[]. An entry is two
+ * longs, the packed data and the key XOR the data, and four
+ * entries make a 64-byte bucket (one cache line). There are no
+ * locks: threads may read and write entries at the same time,
+ * and a half-written entry simply fails the XOR check on probe
+ * and counts as a miss. Nothing is allocated after the table
+ * is created.
+ *
+ * When a bucket is full, the entry replaced is the one from the
+ * oldest search, then the one of the smallest depth.
+ *-----------------------------------------------------------*/
+package wfs.chess.engine;
+
+public final class TranspositionTable {
+    /*
+     * Bound types. A score is exact, or only an upper (fail low) or lower (fail high)
+     * bound of the real score. Never 0, so a stored entry is never all zero bits.
+     */
+    public static final int UPPER = 1;
+    public static final int LOWER = 2;
+    public static final int EXACT = 3;
+    /*
+     * Default and maximum table size in megabytes.
+     */
+    public static final int DEFAULT_MB = 16;
+    public static final int MAX_MB = 4096;
+
+    private static final int ENTRIES_PER_BUCKET = 4;
+    private static final int LONGS_PER_BUCKET = ENTRIES_PER_BUCKET * 2;
+    private static final int BYTES_PER_ENTRY = 16;
+    /*
+     * Layout of the data long, from the lowest bit: move (16 bits, compact form), bound (2),
+     * depth (8), age (6), score (16, signed). The top 16 bits are spare.
+     */
+    private static final int BOUND_SHIFT = 16;
+    private static final int DEPTH_SHIFT = 18;
+    private static final int AGE_SHIFT = 26;
+    private static final int SCORE_SHIFT = 32;
+    private static final int AGE_MASK = 0x3F;
+
+    private long[] table;
+    private int bucketMask;
+    private volatile int age;
+
+    /*
+     * TranspositionTable constructor. Allocates a table of the given size in megabytes.
+     */
+    public TranspositionTable(int megabytes) {
+        resize(megabytes);
+    }
+
+    public TranspositionTable() {
+        this(DEFAULT_MB);
+    }
+
+    /*
+     * resize replaces the table with an empty one of the given size in megabytes. The
+     * number of buckets is rounded down to a power of two. Must not be called while a
+     * search is using the table.
+     */
+    public void resize(int megabytes) {
+        if (megabytes < 1 || megabytes > MAX_MB) {
+            throw new IllegalArgumentException("Hash size must be 1 to " + MAX_MB + " MB: " + megabytes);
+        }
+        long buckets = Long.highestOneBit((long) megabytes * 1024 * 1024 / (BYTES_PER_ENTRY * ENTRIES_PER_BUCKET));
+        // A Java array holds at most 2^31 - 1 longs
+        buckets = Math.min(buckets, 1L << 27);
+        table = new long[(int) buckets * LONGS_PER_BUCKET];
+        bucketMask = (int) buckets - 1;
+        age = 0;
+    }
+
+    /*
+     * clear empties the table, e.g. before a new game.
+     */
+    public void clear() {
+        java.util.Arrays.fill(table, 0L);
+        age = 0;
+    }
+
+    /*
+     * newSearch starts a new search "generation", which makes the entries of earlier
+     * searches the first to be replaced.
+     */
+    public void newSearch() {
+        age = (age + 1) & AGE_MASK;
+    }
+
+    /*
+     * probe returns the data stored for the given key, or 0 if there is none. Read the
+     * fields with move, score, depth and bound.
+     */
+    public long probe(long key) {
+        long[] t = table;
+        int base = bucketIndex(key);
+        for (int i = base; i < base + LONGS_PER_BUCKET; i += 2) {
+            long data = t[i + 1];
+            if ((t[i] ^ data) == key && data != 0) {
+                return data;
+            }
+        }
+        return 0;
+    }
+
+    /*
+     * store saves a search result for the given key, with the move in its compact form
+     * (Move.toShort). Mate scores are made relative to the position (not the root) using
+     * the ply it was found at. A missing move keeps the move already stored for the same
+     * key.
+     */
+    public void store(long key, int move, int score, int depth, int bound, int ply) {
+        long[] t = table;
+        int base = bucketIndex(key);
+        int currentAge = age;
+        int replace = base;
+        int worst = Integer.MAX_VALUE;
+        for (int i = base; i < base + LONGS_PER_BUCKET; i += 2) {
+            long data = t[i + 1];
+            if (data == 0 || (t[i] ^ data) == key) { // empty slot or the same position
+                if (data != 0 && move == 0) {
+                    move = move(data);
+                }
+                replace = i;
+                break;
+            }
+            // Older searches first, then shallower depth
+            int relativeAge = (currentAge - (int) (data >>> AGE_SHIFT)) & AGE_MASK;
+            int value = depth(data) - relativeAge * 8;
+            if (value < worst) {
+                worst = value;
+                replace = i;
+            }
+        }
+        long data = (move & 0xFFFFL)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) Math.max(0, Math.min(depth, 255)) << DEPTH_SHIFT)
+                | ((long) currentAge << AGE_SHIFT)
+                | ((long) toTable(score, ply) << SCORE_SHIFT);
+        t[replace] = key ^ data;
+        t[replace + 1] = data;
+    }
+
+    /*
+     * hashfull returns how full the table is in permille, sampled from the first buckets
+     * and counting only entries of the current search.
+     */
+    public int hashfull() {
+        long[] t = table;
+        int sample = Math.min(1000, t.length / 2);
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            long data = t[i * 2 + 1];
+            if (data != 0 && (int) ((data >>> AGE_SHIFT) & AGE_MASK) == age) {
+                used++;
+            }
+        }
+        return used * 1000 / Math.max(sample, 1);
+    }
+
+    /*
+     * Getters for the fields of a probed entry. move is in the compact form, see
+     * Move.expand. score takes the ply of the probing node to
+     * turn a stored mate score back into a distance from the root.
+     */
+    public static int move(long data) {
+        return (int) data & 0xFFFF;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 3;
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int score(long data, int ply) {
+        int score = (short) (data >>> SCORE_SHIFT);
+        if (score >= Search.MATE - Search.MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -Search.MATE + Search.MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /*
+     * Helper function for store. Mate scores count plies from the root while searching,
+     * but from the position itself in the table.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= Search.MATE - Search.MAX_PLY) {
+            return (score + ply) & 0xFFFF;
+        }
+        if (score <= -Search.MATE + Search.MAX_PLY) {
+            return (score - ply) & 0xFFFF;
+        }
+        return score & 0xFFFF;
+    }
+
+    private int bucketIndex(long key) {
+        return ((int) (key >>> 32) & bucketMask) * LONGS_PER_BUCKET;
+    }
+} // end TranspositionTable class
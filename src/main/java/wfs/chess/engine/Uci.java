@@ -0,0 +1,398 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Universal Chess Interface (UCI) front end for the engine,
+ * started with "Chess --uci". Reads commands from stdin and
+ * answers on stdout, so the engine can be used by chess GUIs,
+ * tournament managers and analysis scripts without opening a
+ * window. Only the headless classes are used here; no Swing
+ * class is ever loaded.
+ *
+ * Supported commands: uci, isready, setoption (Hash, Threads,
+ * OwnBook, BookFile), ucinewgame, position, go, stop,
+ * ponderhit, quit. While searching, an
+ * "info" line with depth, score, nodes, nps, hashfull and PV
+ * is written after every completed iteration. With OwnBook on,
+ * positions found in the Polyglot book of BookFile are
+ * answered at once from the book, without searching.
+ *-----------------------------------------------------------*/
+package wfs.chess.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+import wfs.chess.core.Move;
+import wfs.chess.core.MoveGenerator;
+import wfs.chess.core.Position;
+import wfs.chess.db.Bitbases;
+import wfs.chess.db.PolyglotBook;
+import wfs.chess.db.PolyglotKey;
+
+public final class Uci {
+    private static final String NAME = "wfs chess";
+    private static final String AUTHOR = "William Schimitsch";
+
+    private final BufferedReader in;
+    private final PrintStream out;
+    private final ParallelSearch search;
+    private final Position position = new Position();
+    /*
+     * Thread running the current "go", or null when not searching.
+     */
+    private Thread searcher;
+    /*
+     * "go infinite" and "go ponder" must not answer bestmove before "stop", even when the
+     * search ends on its own.
+     */
+    private boolean waitForStop;
+    private boolean stopReceived;
+    /*
+     * Time manager of a "go ponder" that has not had its "ponderhit" yet, else null.
+     */
+    private TimeManager ponderTime;
+    /*
+     * Opening book, used when OwnBook is on.
+     */
+    private PolyglotBook book;
+    private boolean ownBook;
+    private final Random bookRandom = new Random();
+
+    /*
+     * Uci constructor. Talks to the given streams.
+     */
+    public Uci(BufferedReader in, PrintStream out) {
+        this.in = in;
+        this.out = out;
+        search = new ParallelSearch(1);
+        search.setListener(this::info);
+    }
+
+    /*
+     * run reads and answers commands until "quit" or the end of the input.
+     */
+    public void run() throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            String[] tokens = line.trim().split("\\s+");
+            switch (tokens[0]) {
+                case "uci":
+                    send("id name " + NAME);
+                    send("id author " + AUTHOR);
+                    send("option name Hash type spin default " + TranspositionTable.DEFAULT_MB + " min 1 max "
+                            + TranspositionTable.MAX_MB);
+                    send("option name Threads type spin default 1 min 1 max " + ParallelSearch.MAX_THREADS);
+                    send("option name OwnBook type check default false");
+                    send("option name BookFile type string default <empty>");
+                    if (Bitbases.sharedError() != null) {
+                        send("info string cannot open bitbases: " + Bitbases.sharedError().getMessage());
+                    }
+                    send("uciok");
+                    break;
+                case "isready":
+                    send("readyok");
+                    break;
+                case "setoption":
+                    waitForSearch();
+                    setOption(tokens);
+                    break;
+                case "ucinewgame":
+                    waitForSearch();
+                    search.transpositionTable().clear();
+                    break;
+                case "position":
+                    waitForSearch();
+                    setPosition(tokens);
+                    break;
+                case "go":
+                    waitForSearch();
+                    go(tokens);
+                    break;
+                case "stop":
+                    stop();
+                    break;
+                case "ponderhit":
+                    ponderHit();
+                    break;
+                case "quit":
+                    stop();
+                    return;
+                default:
+                    break; // unknown commands are ignored, as the protocol asks
+            }
+        }
+        stop();
+    }
+
+    /*
+     * Helper function for run. Handles "setoption name <name> value <value>".
+     */
+    private void setOption(String[] tokens) {
+        String name = "", value = "";
+        for (int i = 1; i < tokens.length; i++) {
+            if (tokens[i].equals("name") && i + 1 < tokens.length) {
+                name = tokens[++i];
+            } else if (tokens[i].equals("value") && i + 1 < tokens.length) {
+                // The rest of the line, e.g. a file name with spaces
+                value = String.join(" ", Arrays.copyOfRange(tokens, i + 1, tokens.length));
+                break;
+            }
+        }
+        try {
+            if (name.equalsIgnoreCase("Hash")) {
+                search.transpositionTable().resize(Integer.parseInt(value));
+            } else if (name.equalsIgnoreCase("Threads")) {
+                search.setThreads(Integer.parseInt(value));
+            } else if (name.equalsIgnoreCase("OwnBook")) {
+                ownBook = Boolean.parseBoolean(value);
+            } else if (name.equalsIgnoreCase("BookFile")) {
+                openBook(value);
+            } else {
+                send("info string unknown option " + name);
+            }
+        } catch (IllegalArgumentException e) {
+            send("info string " + e.getMessage());
+        }
+    }
+
+    /*
+     * Helper function for setOption. Opens the given Polyglot book, closing the old one.
+     */
+    private void openBook(String file) {
+        try {
+            if (book != null) {
+                book.close();
+                book = null;
+            }
+            if (!file.isEmpty() && !file.equals("<empty>")) {
+                book = new PolyglotBook(Paths.get(file));
+                if (!PolyglotKey.isStandard()) {
+                    send("info string book keys are not Polyglot's, " + file + " may not match");
+                }
+            }
+        } catch (IOException e) {
+            send("info string cannot open book " + file + ": " + e.getMessage());
+        }
+    }
+
+    /*
+     * Helper function for run. Handles "position [startpos | fen <fen>] [moves <moves>]".
+     */
+    private void setPosition(String[] tokens) {
+        int i = 1;
+        if (i < tokens.length && tokens[i].equals("startpos")) {
+            position.setFen(Position.START_FEN);
+            i++;
+        } else if (i < tokens.length && tokens[i].equals("fen")) {
+            StringBuilder fen = new StringBuilder();
+            for (i++; i < tokens.length && !tokens[i].equals("moves"); i++) {
+                fen.append(tokens[i]).append(' ');
+            }
+            try {
+                position.setFen(fen.toString());
+            } catch (RuntimeException e) {
+                send("info string invalid fen " + fen.toString().trim());
+                position.setFen(Position.START_FEN);
+                return;
+            }
+        }
+        if (i < tokens.length && tokens[i].equals("moves")) {
+            for (i++; i < tokens.length; i++) {
+                int move = MoveGenerator.parseUci(position, tokens[i]);
+                if (move == Move.NONE) {
+                    send("info string illegal move " + tokens[i]);
+                    return;
+                }
+                position.makeMove(move);
+            }
+        }
+    }
+
+    /*
+     * Helper function for run. Handles "go" and its limits (wtime, btime, winc, binc,
+     * movestogo, movetime, depth, infinite, ponder), and starts the search on its own
+     * thread so "stop" can still be read. A limit that is not a number is reported and
+     * ignored.
+     */
+    private void go(String[] tokens) {
+        long[] clock = {-1, -1};
+        long[] increment = {0, 0};
+        int movesToGo = 0;
+        long moveTime = -1;
+        int depth = Search.MAX_PLY;
+        boolean infinite = false;
+        boolean ponder = false;
+        for (int i = 1; i < tokens.length; i++) {
+            String value = (i + 1 < tokens.length) ? tokens[i + 1] : "0";
+            try {
+                switch (tokens[i]) {
+                    case "wtime":
+                        clock[Position.WHITE] = Long.parseLong(value);
+                        break;
+                    case "btime":
+                        clock[Position.BLACK] = Long.parseLong(value);
+                        break;
+                    case "winc":
+                        increment[Position.WHITE] = Long.parseLong(value);
+                        break;
+                    case "binc":
+                        increment[Position.BLACK] = Long.parseLong(value);
+                        break;
+                    case "movestogo":
+                        movesToGo = Integer.parseInt(value);
+                        break;
+                    case "movetime":
+                        moveTime = Long.parseLong(value);
+                        break;
+                    case "depth":
+                        depth = Integer.parseInt(value);
+                        break;
+                    case "infinite":
+                        infinite = true;
+                        break;
+                    case "ponder":
+                        ponder = true;
+                        break;
+                    default:
+                        break;
+                }
+            } catch (NumberFormatException e) {
+                // A bad limit is left out; the search still runs and answers bestmove
+                send("info string invalid " + tokens[i] + " " + value);
+            }
+        }
+        // A book move is played at once, unless the GUI wants analysis
+        if (ownBook && book != null && !infinite && !ponder) {
+            int move = book.probe(position, bookRandom);
+            if (move != Move.NONE) {
+                send("info string book move");
+                send("bestmove " + Move.toUci(move));
+                return;
+            }
+        }
+        int us = position.sideToMove();
+        TimeManager time;
+        if (infinite) {
+            time = TimeManager.infinite();
+        } else if (moveTime >= 0) {
+            time = TimeManager.fixed(moveTime);
+        } else if (clock[us] >= 0) {
+            time = TimeManager.forClock(clock[us], increment[us], movesToGo);
+        } else {
+            time = TimeManager.infinite();
+        }
+        if (ponder) {
+            time.pondering();
+        }
+        Position root = new Position();
+        root.copyFrom(position);
+        int maxDepth = depth;
+        synchronized (this) {
+            waitForStop = infinite || ponder;
+            stopReceived = false;
+            ponderTime = ponder ? time : null;
+        }
+        searcher = new Thread(() -> {
+            int move = search.think(root, time, maxDepth);
+            synchronized (this) {
+                while (waitForStop && !stopReceived) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+            }
+            int[] pv = search.principalVariation();
+            String ponderMove = (pv.length > 1 && pv[0] == move) ? " ponder " + Move.toUci(pv[1]) : "";
+            send("bestmove " + (move == Move.NONE ? "0000" : Move.toUci(move)) + ponderMove);
+        }, "search");
+        searcher.start();
+    }
+
+    /*
+     * Helper function for run. Handles "ponderhit": the opponent played the move pondered
+     * on, so the search goes on as a normal one on the clock given with "go ponder", and
+     * answers bestmove when it is done.
+     */
+    private void ponderHit() {
+        synchronized (this) {
+            if (ponderTime == null) {
+                return;
+            }
+            ponderTime.ponderHit();
+            ponderTime = null;
+            waitForStop = false;
+            notifyAll();
+        }
+    }
+
+    /*
+     * Helper function for run. Stops the search and waits for its bestmove.
+     */
+    private void stop() {
+        synchronized (this) {
+            stopReceived = true;
+            ponderTime = null;
+            notifyAll();
+        }
+        search.stop();
+        waitForSearch();
+    }
+
+    /*
+     * Helper function for run. Waits for the running search, if any, to finish.
+     */
+    private void waitForSearch() {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searcher = null;
+    }
+
+    /*
+     * info writes the UCI info line for a completed iteration. Called on the search thread.
+     */
+    private void info(int depth, int score, long nodes, long millis, int[] pv) {
+        StringBuilder sb = new StringBuilder("info depth ").append(depth).append(" score ");
+        if (score >= Search.MATE - Search.MAX_PLY) {
+            sb.append("mate ").append((Search.MATE - score + 1) / 2);
+        } else if (score <= -Search.MATE + Search.MAX_PLY) {
+            sb.append("mate -").append((Search.MATE + score) / 2);
+        } else {
+            sb.append("cp ").append(score);
+        }
+        sb.append(" nodes ").append(nodes)
+                .append(" nps ").append(nodes * 1000 / Math.max(millis, 1))
+                .append(" time ").append(millis)
+                .append(" hashfull ").append(search.transpositionTable().hashfull())
+                .append(" pv");
+        for (int move : pv) {
+            sb.append(' ').append(Move.toUci(move));
+        }
+        send(sb.toString());
+    }
+
+    private void send(String line) {
+        synchronized (out) {
+            out.println(line);
+            out.flush();
+        }
+    }
+
+    /*
+     * start runs the UCI loop on stdin and stdout.
+     */
+    public static void start() throws IOException {
+        new Uci(new BufferedReader(new InputStreamReader(System.in)), System.out).run();
+    }
+} // end Uci class
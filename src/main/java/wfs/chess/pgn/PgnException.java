@@ -0,0 +1,35 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Thrown when a PGN file cannot be read or a game in it does
+ * not replay: a malformed tag, an illegal or ambiguous move,
+ * an unterminated comment. Carries the line of the file the
+ * problem was found on.
+ *-----------------------------------------------------------*/
+package wfs.chess.pgn;
+
+public class PgnException extends IllegalArgumentException {
+    private final int line;
+    private final String reason;
+
+    /*
+     * PgnException constructor. Takes the line number (counted from 1) and what is wrong.
+     */
+    public PgnException(int line, String message) {
+        super("line " + line + ": " + message);
+        this.line = line;
+        this.reason = message;
+    }
+
+    /*
+     * Getters for where and what the problem is.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+} // end PgnException class
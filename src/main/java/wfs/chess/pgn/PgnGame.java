@@ -0,0 +1,196 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * One game of a PGN file as read by PgnReader: its tag pairs
+ * and its movetext, with the lines they start on. The moves
+ * are only read when the game is replayed, against the legal
+ * moves of a headless Position, so reading a file stays cheap
+ * and replaying can be spread over several threads.
+ *
+ * Replaying follows the main line. Comments ({...} and ;),
+ * variations in parentheses, NAGs ($1), move numbers and the
+ * result are skipped.
+ *-----------------------------------------------------------*/
+package wfs.chess.pgn;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+import wfs.chess.core.Move;
+import wfs.chess.core.Position;
+import wfs.chess.core.San;
+
+public final class PgnGame {
+    private final int number;
+    private final int line;
+    private final Map<String, String> tags;
+    private final String movetext;
+    private final int movetextLine;
+
+    /*
+     * PgnGame constructor. Takes the number of the game in its file (from 1), the line of
+     * its first tag, its tags, and its movetext with the line it starts on.
+     */
+    public PgnGame(int number, int line, Map<String, String> tags, String movetext, int movetextLine) {
+        this.number = number;
+        this.line = line;
+        this.tags = Collections.unmodifiableMap(tags);
+        this.movetext = movetext;
+        this.movetextLine = movetextLine;
+    }
+
+    /*
+     * Getters for the game.
+     */
+    public int getNumber() {
+        return number;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public String tag(String name) {
+        return tags.get(name);
+    }
+
+    public String getMovetext() {
+        return movetext;
+    }
+
+    /*
+     * startFen returns the FEN the game starts from: its FEN tag, or the initial position.
+     */
+    public String startFen() {
+        String fen = tags.get("FEN");
+        return (fen != null) ? fen : Position.START_FEN;
+    }
+
+    /*
+     * replay sets up the given position at the start of the game and plays the main line
+     * on it, calling the visitor (if not null) with the position before each move and the
+     * move. Returns the number of moves played. Throws PgnException, with the line, at the
+     * first move that is not legal or anything else that makes the game unreadable.
+     */
+    public int replay(Position pos, ObjIntConsumer<Position> visitor) {
+        try {
+            pos.setFen(startFen());
+        } catch (RuntimeException e) {
+            throw new PgnException(line, String.valueOf(e.getMessage()));
+        }
+        int plies = 0;
+        int depth = 0; // nesting of variations, which are skipped
+        int currentLine = movetextLine;
+        int n = movetext.length();
+        int i = 0;
+        while (i < n) {
+            char c = movetext.charAt(i);
+            if (c == '\n') {
+                currentLine++;
+                i++;
+            } else if (c <= ' ') {
+                i++;
+            } else if (c == '{') {
+                int close = movetext.indexOf('}', i);
+                if (close < 0) {
+                    throw new PgnException(currentLine, "unterminated comment");
+                }
+                currentLine += countLines(i, close);
+                i = close + 1;
+            } else if (c == ';') {
+                while (i < n && movetext.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '(') {
+                depth++;
+                i++;
+            } else if (c == ')') {
+                if (--depth < 0) {
+                    throw new PgnException(currentLine, "unbalanced ')'");
+                }
+                i++;
+            } else {
+                int end = tokenEnd(i);
+                int moveStart = skipMoveNumber(i, end);
+                if (moveStart < end && depth == 0 && c != '$' && !isResult(moveStart, end)) {
+                    int move;
+                    try {
+                        move = San.parse(pos, movetext, moveStart, end);
+                    } catch (RuntimeException e) {
+                        move = Move.NONE;
+                    }
+                    if (move == Move.NONE) {
+                        throw new PgnException(currentLine, "illegal move " + movetext.substring(moveStart, end)
+                                + " in " + pos.toFen());
+                    }
+                    if (visitor != null) {
+                        visitor.accept(pos, move);
+                    }
+                    pos.makeMove(move);
+                    plies++;
+                }
+                i = end;
+            }
+        }
+        if (depth != 0) {
+            throw new PgnException(currentLine, "unterminated variation");
+        }
+        return plies;
+    }
+
+    /*
+     * Helper functions for replay, working on the movetext.
+     */
+    private int tokenEnd(int i) {
+        int n = movetext.length();
+        while (i < n) {
+            char c = movetext.charAt(i);
+            if (c <= ' ' || c == '{' || c == '}' || c == '(' || c == ')' || c == ';') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    // Returns where the move starts after a move number like "12." or "12...", if any
+    private int skipMoveNumber(int start, int end) {
+        int i = start;
+        while (i < end && Character.isDigit(movetext.charAt(i))) {
+            i++;
+        }
+        if (i == start || i == end || movetext.charAt(i) != '.') {
+            return start; // not a move number, e.g. "0-0" or a result
+        }
+        while (i < end && movetext.charAt(i) == '.') {
+            i++;
+        }
+        return i;
+    }
+
+    private boolean isResult(int start, int end) {
+        return (end - start == 1 && movetext.charAt(start) == '*')
+                || (end - start == 3 && (movetext.startsWith("1-0", start) || movetext.startsWith("0-1", start)))
+                || (end - start == 7 && movetext.startsWith("1/2-1/2", start));
+    }
+
+    private int countLines(int from, int to) {
+        int lines = 0;
+        for (int i = from; i < to; i++) {
+            if (movetext.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    @Override
+    public String toString() {
+        return "Game " + number + " (line " + line + ")";
+    }
+} // end PgnGame class
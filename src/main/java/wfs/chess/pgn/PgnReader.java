@@ -0,0 +1,246 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Streaming reader for PGN files of any size. The file is
+ * read through an NIO channel in fixed chunks into one direct
+ * buffer, and cut into lines and games as it goes, so memory
+ * use does not grow with the file. Lines that are pure ASCII
+ * (almost all of them) are copied byte by byte; others are
+ * decoded as UTF-8.
+ *
+ * next returns one game at a time with its tags parsed and
+ * its movetext kept as text; see PgnGame for replaying it.
+ * Lines starting with '%' are escaped and skipped, and a new
+ * tag section also ends a game without a blank line before
+ * it.
+ *-----------------------------------------------------------*/
+package wfs.chess.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class PgnReader implements Closeable {
+    /*
+     * Size of the chunks the file is read in, in bytes.
+     */
+    public static final int CHUNK_SIZE = 1 << 20;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_SIZE);
+    private boolean endOfFile;
+    /*
+     * The current line, as bytes and as text, and its number (from 1).
+     */
+    private byte[] lineBytes = new byte[256];
+    private final StringBuilder line = new StringBuilder(256);
+    private int lineNumber;
+    /*
+     * Whether the current line was read but not used yet: the first tag of the next game.
+     */
+    private boolean pending;
+    private int games;
+
+    /*
+     * PgnReader constructor. Opens the given file.
+     */
+    public PgnReader(Path file) throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.READ));
+    }
+
+    /*
+     * PgnReader constructor that reads from any channel, e.g. a network stream.
+     */
+    public PgnReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        buffer.flip(); // empty until the first read
+    }
+
+    /*
+     * next returns the next game of the file, or null at the end. Throws PgnException for a
+     * malformed tag, after reading the rest of that game, so the reader can go on with the
+     * next game.
+     */
+    public PgnGame next() throws IOException {
+        // Skip blank lines before the game
+        while (pending || readLine()) {
+            pending = false;
+            if (!isBlank()) {
+                pending = true;
+                break;
+            }
+        }
+        if (!pending) {
+            return null;
+        }
+        int first = lineNumber;
+        Map<String, String> tags = new LinkedHashMap<>();
+        PgnException error = null;
+        while (pending && line.charAt(0) == '[') {
+            pending = false;
+            try {
+                parseTag(tags);
+            } catch (PgnException e) {
+                error = (error == null) ? e : error;
+            }
+            // Blank lines between the tags and the movetext
+            while (readLine()) {
+                if (!isBlank()) {
+                    pending = true;
+                    break;
+                }
+            }
+        }
+        // Movetext, up to a blank line or the tags of the next game
+        StringBuilder movetext = new StringBuilder();
+        int movetextLine = lineNumber;
+        while (pending || readLine()) {
+            pending = false;
+            if (isBlank()) {
+                break;
+            }
+            if (line.charAt(0) == '[') {
+                pending = true;
+                break;
+            }
+            if (movetext.length() == 0) {
+                movetextLine = lineNumber;
+            } else {
+                movetext.append('\n');
+            }
+            movetext.append(line);
+        }
+        games++;
+        if (error != null) {
+            throw error;
+        }
+        return new PgnGame(games, first, tags, movetext.toString(), movetextLine);
+    }
+
+    /*
+     * getLineNumber returns the number of the last line read.
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /*
+     * Helper function for next. Reads [Name "value"] from the current line into the tags.
+     */
+    private void parseTag(Map<String, String> tags) {
+        int n = line.length();
+        int i = 1;
+        while (i < n && line.charAt(i) == ' ') {
+            i++;
+        }
+        int nameStart = i;
+        while (i < n && line.charAt(i) > ' ' && line.charAt(i) != '"' && line.charAt(i) != ']') {
+            i++;
+        }
+        String name = line.substring(nameStart, i);
+        while (i < n && line.charAt(i) == ' ') {
+            i++;
+        }
+        if (name.isEmpty() || i == n || line.charAt(i) != '"') {
+            throw new PgnException(lineNumber, "malformed tag " + line);
+        }
+        StringBuilder value = new StringBuilder();
+        for (i++; i < n; i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < n) {
+                value.append(line.charAt(++i));
+            } else if (c == '"') {
+                tags.put(name, value.toString());
+                return;
+            } else {
+                value.append(c);
+            }
+        }
+        throw new PgnException(lineNumber, "unterminated tag value " + line);
+    }
+
+    /*
+     * Helper functions for reading lines. readLine reads the next line without its line
+     * break into line, skipping escaped lines, and returns false at the end of the file.
+     */
+    private boolean readLine() throws IOException {
+        while (true) {
+            int length = 0;
+            boolean ascii = true;
+            boolean any = false;
+            while (true) {
+                if (!buffer.hasRemaining() && !fill()) {
+                    break;
+                }
+                any = true;
+                byte b = buffer.get();
+                if (b == '\n') {
+                    break;
+                }
+                if (length == lineBytes.length) {
+                    lineBytes = Arrays.copyOf(lineBytes, length * 2);
+                }
+                lineBytes[length++] = b;
+                ascii &= b >= 0;
+            }
+            if (!any) {
+                return false;
+            }
+            lineNumber++;
+            if (length > 0 && lineBytes[length - 1] == '\r') {
+                length--;
+            }
+            line.setLength(0);
+            if (ascii) {
+                for (int i = 0; i < length; i++) {
+                    line.append((char) lineBytes[i]);
+                }
+            } else {
+                line.append(new String(lineBytes, 0, length, StandardCharsets.UTF_8));
+            }
+            if (length == 0 || line.charAt(0) != '%') {
+                return true;
+            }
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (endOfFile) {
+            return false;
+        }
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        buffer.flip();
+        if (read < 0) {
+            endOfFile = true;
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isBlank() {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+} // end PgnReader class
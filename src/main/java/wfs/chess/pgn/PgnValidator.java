@@ -0,0 +1,212 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Checks every game of a PGN file by replaying it, in
+ * parallel. The calling thread streams the file with a
+ * PgnReader and hands the games over in batches to a
+ * ForkJoinPool, where each batch is split in halves until the
+ * pieces are small enough to replay on one worker, with one
+ * Position per worker thread. Only a few batches are in
+ * flight at a time, so a file of millions of games never has
+ * to fit in memory.
+ *
+ * Games that do not replay are rejected and reported with the
+ * line of the problem; the summary gives games per second.
+ *
+ * Run from the command line with: <file.pgn> [threads]
+ *-----------------------------------------------------------*/
+package wfs.chess.pgn;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import wfs.chess.core.Position;
+
+public final class PgnValidator {
+    /*
+     * Games read before a batch is handed to the pool, and the most games one task
+     * replays without splitting further.
+     */
+    public static final int BATCH_SIZE = 1024;
+    private static final int SPLIT_THRESHOLD = 32;
+    /*
+     * Position of each worker thread.
+     */
+    private static final ThreadLocal<Position> POSITION = ThreadLocal.withInitial(Position::new);
+
+    private final ForkJoinPool pool;
+    private final int threads;
+
+    /*
+     * PgnValidator constructor. Takes the number of worker threads.
+     */
+    public PgnValidator(int threads) {
+        this.threads = Math.max(1, threads);
+        this.pool = new ForkJoinPool(this.threads);
+    }
+
+    /*
+     * validate replays every game of the file and returns the totals. Each rejected game is
+     * passed to the given consumer (if not null) as a PgnException naming the game, from
+     * whichever worker thread found it, so the consumer must be thread safe.
+     */
+    public Report validate(Path file, Consumer<PgnException> rejected) throws IOException {
+        Report report = new Report();
+        long start = System.nanoTime();
+        ArrayDeque<ForkJoinTask<?>> inFlight = new ArrayDeque<>();
+        try (PgnReader reader = new PgnReader(file)) {
+            List<PgnGame> batch = new ArrayList<>(BATCH_SIZE);
+            while (true) {
+                PgnGame game;
+                try {
+                    game = reader.next();
+                } catch (PgnException e) {
+                    report.games.incrementAndGet();
+                    reject(rejected, report, e);
+                    continue;
+                }
+                if (game != null) {
+                    batch.add(game);
+                }
+                if (batch.size() == BATCH_SIZE || (game == null && !batch.isEmpty())) {
+                    // Keep the reader only a few batches ahead of the workers
+                    while (inFlight.size() >= 2 * threads) {
+                        inFlight.poll().join();
+                    }
+                    inFlight.add(pool.submit(new ReplayTask(batch, 0, batch.size(), report, rejected)));
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+                if (game == null) {
+                    break;
+                }
+            }
+        } finally {
+            while (!inFlight.isEmpty()) {
+                inFlight.poll().join();
+            }
+        }
+        report.nanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /*
+     * shutdown stops the worker threads.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /*
+     * Helper function to count and pass on a rejected game.
+     */
+    private static void reject(Consumer<PgnException> rejected, Report report, PgnException e) {
+        report.rejected.incrementAndGet();
+        if (rejected != null) {
+            rejected.accept(e);
+        }
+    }
+
+    /*
+     * ReplayTask class replays a range of a batch of games, splitting it in halves while
+     * it is large.
+     */
+    private static final class ReplayTask extends RecursiveAction {
+        private final List<PgnGame> games;
+        private final int from, to;
+        private final Report report;
+        private final Consumer<PgnException> rejected;
+
+        ReplayTask(List<PgnGame> games, int from, int to, Report report, Consumer<PgnException> rejected) {
+            this.games = games;
+            this.from = from;
+            this.to = to;
+            this.report = report;
+            this.rejected = rejected;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ReplayTask(games, from, mid, report, rejected),
+                        new ReplayTask(games, mid, to, report, rejected));
+                return;
+            }
+            Position pos = POSITION.get();
+            long plies = 0;
+            for (int i = from; i < to; i++) {
+                PgnGame game = games.get(i);
+                try {
+                    plies += game.replay(pos, null);
+                } catch (PgnException e) {
+                    reject(rejected, report, new PgnException(e.getLine(), "game " + game.getNumber() + ", "
+                            + e.getReason()));
+                } catch (RuntimeException e) { // a bug should cost one game, not the run
+                    reject(rejected, report, new PgnException(game.getLine(), "game " + game.getNumber() + ", " + e));
+                }
+            }
+            report.games.addAndGet(to - from);
+            report.plies.addAndGet(plies);
+        }
+    } // end ReplayTask class
+
+    /*
+     * Report class holds the totals of a validation.
+     */
+    public static final class Report {
+        private final AtomicLong games = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong plies = new AtomicLong();
+        private long nanos;
+
+        public long games() {
+            return games.get();
+        }
+
+        public long rejected() {
+            return rejected.get();
+        }
+
+        public long plies() {
+            return plies.get();
+        }
+
+        public long millis() {
+            return nanos / 1_000_000;
+        }
+
+        public double gamesPerSecond() {
+            return nanos == 0 ? 0 : games.get() * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d games (%d rejected), %d moves in %.2f s: %.0f games/s, %.0f moves/s",
+                    games(), rejected(), plies(), nanos / 1e9, gamesPerSecond(), nanos == 0 ? 0 : plies() * 1e9 / nanos);
+        }
+    } // end Report class
+
+    /*
+     * main validates a PGN file and prints the rejected games and the totals.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: PgnValidator <file.pgn> [threads]");
+            return;
+        }
+        int threads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        PgnValidator validator = new PgnValidator(threads);
+        Report report = validator.validate(Paths.get(args[0]), e -> System.out.println("Rejected: " + e.getMessage()));
+        validator.shutdown();
+        System.out.println(report + " on " + threads + " threads");
+    }
+} // end PgnValidator class
@@ -7,9 +7,8 @@
  *-----------------------------------------------------------*/
 package wfs.chess.pieces;
 
-import java.awt.Image;
-import javax.swing.ImageIcon; 
 import wfs.chess.board.Square;
+import wfs.chess.core.Position;
 
 public class Bishop extends Piece {
 
@@ -18,29 +17,7 @@ public class Bishop extends Piece {
      */
     public Bishop(boolean white) {
         super(white); // call parent constructor
-        if (white) { // set display image based on piece color
-            icon = new ImageIcon(getClass().getResource("/img/w_bishop.png"));
-        } else {
-            icon = new ImageIcon(getClass().getResource("/img/b_bishop.png"));
-        }
-        Image curr = icon.getImage().getScaledInstance(Square.SIZE, Square.SIZE, Image.SCALE_SMOOTH);
-        icon = new ImageIcon(curr);
+        icon = Sprites.icon(white, Position.BISHOP, Square.SIZE); // shared, loaded once for all pieces
         this.setIcon(icon);
     }
-    
-    /*
-     * isMove validates that a move between the given squares is valid with a bishop. 
-     */
-    @Override
-    public boolean isMove(Square start, Square dest, Square[][] squares) {
-        return super.isMove(start, dest, squares) && super.isBishopMove(start, dest, squares);
-    }
-    
-    /*
-     * A bishop threatens pieces on its diagonals.
-     */
-    @Override
-    public boolean isAttackingKing(Square kingSquare, Square[][] squares) {
-        return isMove(this.position, kingSquare, squares);
-    }
 }
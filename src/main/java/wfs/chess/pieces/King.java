@@ -9,9 +9,8 @@
  *-----------------------------------------------------------*/
 package wfs.chess.pieces;
 
-import java.awt.Image;
-import javax.swing.ImageIcon;
 import wfs.chess.board.Square;
+import wfs.chess.core.Position;
 
 public class King extends Piece {
 
@@ -20,35 +19,10 @@ public class King extends Piece {
      */
     public King(boolean white) {
         super(white); // call parent constructor
-        if (white) { // set display image based on piece color
-            icon = new ImageIcon(getClass().getResource("/img/w_king.png"));
-        } else {
-            icon = new ImageIcon(getClass().getResource("/img/b_king.png"));
-        }
-        Image curr = icon.getImage().getScaledInstance(Square.SIZE, Square.SIZE, Image.SCALE_SMOOTH);
-        icon = new ImageIcon(curr);
+        icon = Sprites.icon(white, Position.KING, Square.SIZE); // shared, loaded once for all pieces
         setIcon(icon);
     }
 
-    /*
-     * isMove validates that a move between the given squares is valid with a king. 
-     */
-    @Override
-    public boolean isMove(Square start, Square dest, Square[][] squares) {
-        if (!super.isMove(start, dest, squares)) {
-            return false;
-        }
-        int sx = start.getSquareX(), sy = start.getSquareY();
-        if (dest.checkForKing(sx, sy, squares)) { // if there is a King neighboring this square it is an invalid move
-            return false;
-        }
-        int dx = dest.getSquareX(), dy =dest.getSquareY();
-        if (hasMoved && ((dx > sx+1) || (dx < sx-1) || (dy > sy+1 || dy < sy-1))) { // cannot move King more than one square
-            return false;
-        }
-        return true; 
-    }
-
     /*
      * makeMove function for King. King can castle or move 1 square in any direction.
      */
@@ -69,12 +43,15 @@ public class King extends Piece {
         int sx = start.getSquareX(), sy = start.getSquareY(), dx = dest.getSquareX(); // get square coordinates
         if (dx == sx+2) { // rook would be on 7th column
             Piece pc = squares[sy][7].getPiece();
-            if (pc instanceof Rook && !pc.hasMoved && pc.isMove(squares[sy][7], squares[sy][dx-1], squares)) {
+            if (pc instanceof Rook && !pc.hasMoved) {
                 // Intrinsically remove pieces
                 start.setPiece(null);
                 squares[sy][7].setPiece(null);
                 dest.setPiece(this);
                 squares[sy][dx-1].setPiece(pc);
+                setSquare(dest);
+                pc.setSquare(squares[sy][dx-1]);
+                pc.hasMoved = true;
                 // Graphically remove pieces
                 squares[sy][7].remove(pc);
                 squares[sy][dx-1].add(pc);
@@ -84,12 +61,15 @@ public class King extends Piece {
             return false;
         } else if (dx == sx-2) { // rook would be on 0th column
             Piece pc = squares[sy][0].getPiece();
-            if (pc instanceof Rook && !pc.hasMoved && pc.isMove(squares[sy][0], squares[sy][dx+1], squares)) {
+            if (pc instanceof Rook && !pc.hasMoved) {
                 // Intrinsically remove pieces
                 start.setPiece(null);
                 squares[sy][0].setPiece(null);
                 dest.setPiece(this);
                 squares[sy][dx+1].setPiece(pc);
+                setSquare(dest);
+                pc.setSquare(squares[sy][dx+1]);
+                pc.hasMoved = true;
                 // Graphically remove pieces
                 squares[sy][0].remove(pc);
                 squares[sy][dx+1].add(pc);
@@ -100,12 +80,4 @@ public class King extends Piece {
         }
         return false;
     }
-
-    /*
-     * Kings cannot attack other Kings. Simply return false.
-     */
-    @Override
-    public boolean isAttackingKing(Square kingSquare, Square[][] squares) {
-        return false;
-    }
 }
@@ -20,7 +20,7 @@ public abstract class Piece extends JLabel {
      *      alive/on board
      *      icon/display image
      *      current spot on board
-     *      id to uniquely identify each piece
+     *      id, the index of the piece in its side's piece list
      */
     protected boolean isWhite;
     protected boolean hasMoved;
@@ -36,7 +36,7 @@ public abstract class Piece extends JLabel {
         this.isWhite = isWhite;
         position = null;
         hasMoved = false;
-        id = (int) (Math.random() * 9999) + 1;
+        id = -1; // set when the piece is put on a board
     }
 
     /*
@@ -61,34 +61,17 @@ public abstract class Piece extends JLabel {
     }
     
     /*
-     * getId returns this piece's unique id.
+     * getId returns this piece's id, unique among the pieces of its side on the board.
      */
     public int getId() {
         return id;
     }
 
     /*
-     * Basic check function for valid moves. Applicable for all pieces. Takes in
-     * starting square, destination square, and 2D array of squares representing the board.
-     * Moving from the current square to the current square is not a valid move. A piece
-     * also cannot move to a square that has a piece of the same color on it. 
-     * 
-     * Children classes call this function to check basic requirements for a move, and
-     * then have further specifications to check if the move is valid for that particular
-     * piece.
+     * setId sets this piece's id. Called by the board's piece list.
      */
-    public boolean isMove(Square start, Square dest, Square[][] squares) {
-        if (start.equals(dest)) {
-            return false;
-        }
-        if (dest.getPiece() == null) {
-            return true;
-        } else if (isWhite == dest.getPiece().getColor()) {
-            return false;
-        } else {
-            return true;
-        }
-
+    public void setId(int id) {
+        this.id = id;
     }
 
     /*
@@ -115,69 +98,4 @@ public abstract class Piece extends JLabel {
         sq.setPiece(null);
         sq.remove(pc);
     }
-
-    /*
-     * Validates that a move between the given square is valid for a bishop. Abstracted
-     * function so that it can be used to validate diagonal Queen moves. 
-     */
-    public boolean isBishopMove(Square start, Square dest, Square[][] squares) {
-        int sx = start.getSquareX(), sy = start.getSquareY();
-        int dx = dest.getSquareX(), dy = dest.getSquareY();
-        if (Math.abs(dy-sy) != Math.abs(dx-sx)) { // if the destination square is not on a diagonal from the starting square, this is an invalid Bishop move
-            return false;
-        }
-        // Prevent Bishop from jumping over pieces
-        int i = sx, j = sy;
-        while (i != dx && j != dy) { // check each square before our destination for a piece
-            if (i != sx && j != sy && squares[j][i].getPiece() != null) {
-                return false;
-            }
-            i = (sx < dx) ? i + 1 : i - 1;
-            j = (sy < dy) ? j + 1 : j - 1;
-        }
-        return true;
-    }
-
-    /*
-     * Validates that a move between the given square is valid for a rook. Abstracted
-     * function so that it can be used to validate horizontal Queen moves.
-     */
-    public boolean isRookMove(Square start, Square dest, Square[][] squares) {
-        int sx = start.getSquareX(), sy = start.getSquareY();
-        int dx = dest.getSquareX(), dy = dest.getSquareY();
-        if (sx != dx && sy != dy) { // if destination square is not on the same file or same row, this is an invalid Rook move
-            return false;
-        }
-        // Prevent Rook from jumping over pieces
-        if (sx == dx) { // if moving vertically
-            if (sy > dy) {
-                int temp = sy;
-                sy = dy;
-                dy = temp;
-            }
-            for (int i = sy+1; i < dy; i++) { // check each square before our destination for a piece
-                if (squares[i][sx].getPiece() != null) {
-                    return false;
-                }
-            }
-        } else { // if moving horizontally
-            if (sx > dx) { 
-                int temp = sx;
-                sx = dx;
-                dx = temp;
-            } 
-            for (int i = sx+1; i < dx; i++) { // check each square before our destination for a piece
-                if (squares[sy][i].getPiece() != null) {
-                    return false;
-                }
-            }           
-        }
-        return true;
-    }
-
-    /*
-     * isAttackingKing checks if this piece is threatening the enemy King.
-     * Used to see if that King is in check/checkmate.
-     */
-    public abstract boolean isAttackingKing(Square kingSquare, Square[][] squares);
 } // end Piece class
\ No newline at end of file
@@ -7,9 +7,8 @@
  *-----------------------------------------------------------*/
 package wfs.chess.pieces;
 
-import java.awt.Image;
-import javax.swing.ImageIcon;
 import wfs.chess.board.Square;
+import wfs.chess.core.Position;
 
 public class Rook extends Piece {
 
@@ -18,29 +17,7 @@ public class Rook extends Piece {
      */
     public Rook(boolean white) {
         super(white); // call parent constructor
-        if (white) { // set display image based on piece color
-            icon = new ImageIcon(getClass().getResource("/img/w_rook.png"));
-        } else {
-            icon = new ImageIcon(getClass().getResource("/img/b_rook.png"));
-        }
-        Image curr = icon.getImage().getScaledInstance(Square.SIZE, Square.SIZE, Image.SCALE_SMOOTH);
-        icon = new ImageIcon(curr);
+        icon = Sprites.icon(white, Position.ROOK, Square.SIZE); // shared, loaded once for all pieces
         this.setIcon(icon);
     }
-
-    /*
-     * isMove validates that a move between the given squares is valid with a rook. 
-     */
-    @Override
-    public boolean isMove(Square start, Square dest, Square[][] squares) {
-        return super.isMove(start, dest, squares) && super.isRookMove(start, dest, squares);
-    }
-
-    /*
-     * Rook threatens pieces on the same row and file as it. 
-     */
-    @Override
-    public boolean isAttackingKing(Square kingSquare, Square[][] squares) {
-        return isMove(this.position, kingSquare, squares);
-    }
 }
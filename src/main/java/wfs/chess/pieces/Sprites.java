@@ -0,0 +1,80 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Shared cache of the piece images. Each of the 12 PNGs is
+ * decoded once, and scaled once per size it is asked for, so
+ * the pieces of a board share the same icons instead of each
+ * one loading and scaling its own. preload fills the cache on
+ * a background thread (while the title screen is showing), so
+ * a new Game window does not wait on image decoding.
+ *
+ * Pieces are addressed by the piece codes of the headless
+ * Position (Position.piece(color, type)).
+ *-----------------------------------------------------------*/
+package wfs.chess.pieces;
+
+import java.awt.Image;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.swing.ImageIcon;
+import wfs.chess.core.Position;
+
+public final class Sprites {
+    /*
+     * Image file names by piece type.
+     */
+    private static final String[] NAMES = {"pawn", "knight", "bishop", "rook", "queen", "king"};
+    /*
+     * Decoded images at their original size, by piece code, and scaled icons by piece
+     * code and size.
+     */
+    private static final Image[] ORIGINALS = new Image[12];
+    private static final ConcurrentHashMap<Integer, ImageIcon> ICONS = new ConcurrentHashMap<>();
+
+    private Sprites() {
+    }
+
+    /*
+     * icon returns the image of the given piece scaled to size x size pixels. The icon is
+     * shared, so it must not be changed.
+     */
+    public static ImageIcon icon(int pc, int size) {
+        return ICONS.computeIfAbsent(pc * 4096 + size,
+                key -> new ImageIcon(original(pc).getScaledInstance(size, size, Image.SCALE_SMOOTH)));
+    }
+
+    public static ImageIcon icon(boolean white, int type, int size) {
+        return icon(Position.piece(white ? Position.WHITE : Position.BLACK, type), size);
+    }
+
+    /*
+     * preload decodes and scales all 12 images to each of the given sizes on a background
+     * thread, so they are ready by the time a board is shown.
+     */
+    public static void preload(int... sizes) {
+        Thread loader = new Thread(() -> {
+            for (int size : sizes) {
+                for (int pc = 0; pc < 12; pc++) {
+                    icon(pc, size);
+                }
+            }
+        }, "sprite-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /*
+     * Helper function for icon. Decodes the image of the given piece the first time it is
+     * needed.
+     */
+    private static Image original(int pc) {
+        synchronized (ORIGINALS) {
+            if (ORIGINALS[pc] == null) {
+                String file = "/img/" + (Position.colorOf(pc) == Position.WHITE ? "w_" : "b_")
+                        + NAMES[Position.typeOf(pc)] + ".png";
+                ORIGINALS[pc] = new ImageIcon(Sprites.class.getResource(file)).getImage();
+            }
+            return ORIGINALS[pc];
+        }
+    }
+} // end Sprites class
@@ -0,0 +1,109 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Tests of the chess clock, run on a fake time source so the
+ * results do not depend on how fast the machine is.
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class GameClockTest {
+    private static final long MS = 1_000_000L;
+
+    private long now;
+
+    /*
+     * suddenDeath checks that the time a move takes is charged to the side that made it.
+     */
+    @Test
+    public void suddenDeath() {
+        GameClock clock = new GameClock(60_000, GameClock.SUDDEN_DEATH, 5_000, () -> now);
+        clock.start(Position.WHITE);
+        now += 1_500 * MS;
+        assertEquals(58_500, clock.remainingMillis(Position.WHITE));
+        clock.press(Position.BLACK);
+        assertEquals(58_500, clock.remainingMillis(Position.WHITE));
+        assertEquals(Position.BLACK, clock.runningSide());
+        now += 2_000 * MS;
+        clock.press(Position.WHITE);
+        assertEquals(58_000, clock.remainingMillis(Position.BLACK));
+        assertEquals(0, clock.bonusMillis());
+    }
+
+    /*
+     * fischer checks that the increment is added after every move.
+     */
+    @Test
+    public void fischer() {
+        GameClock clock = new GameClock(60_000, GameClock.FISCHER, 2_000, () -> now);
+        clock.start(Position.WHITE);
+        now += 500 * MS;
+        clock.press(Position.BLACK);
+        assertEquals(61_500, clock.remainingMillis(Position.WHITE));
+    }
+
+    /*
+     * bronstein checks that the time a move took is given back up to the delay.
+     */
+    @Test
+    public void bronstein() {
+        GameClock clock = new GameClock(60_000, GameClock.BRONSTEIN, 2_000, () -> now);
+        clock.start(Position.WHITE);
+        now += 500 * MS;
+        clock.press(Position.BLACK);
+        assertEquals(60_000, clock.remainingMillis(Position.WHITE));
+        now += 5_000 * MS;
+        clock.press(Position.WHITE);
+        assertEquals(57_000, clock.remainingMillis(Position.BLACK));
+    }
+
+    /*
+     * flag checks that a side out of time is flagged and gets nothing back.
+     */
+    @Test
+    public void flag() {
+        GameClock clock = new GameClock(1_000, GameClock.FISCHER, 2_000, () -> now);
+        clock.start(Position.WHITE);
+        now += 999 * MS;
+        assertFalse(clock.isFlagged(Position.WHITE));
+        now += 2 * MS;
+        assertTrue(clock.isFlagged(Position.WHITE));
+        clock.press(Position.BLACK);
+        assertTrue(clock.isFlagged(Position.WHITE));
+        assertEquals(0, clock.remainingMillis(Position.WHITE));
+    }
+
+    /*
+     * stop checks that a stopped clock charges the time used and then stands still.
+     */
+    @Test
+    public void stop() {
+        GameClock clock = new GameClock(60_000, GameClock.SUDDEN_DEATH, 0, () -> now);
+        clock.press(Position.BLACK); // no clock running yet: starts Black's
+        now += 1_000 * MS;
+        clock.stop();
+        now += 10_000 * MS;
+        assertEquals(59_000, clock.remainingMillis(Position.BLACK));
+        assertEquals(-1, clock.runningSide());
+    }
+
+    /*
+     * format checks the display of a clock reading.
+     */
+    @Test
+    public void format() {
+        assertEquals("01:05", GameClock.format(65_000));
+        assertEquals("9.8", GameClock.format(9_876));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidTimeControl() {
+        new GameClock(0, GameClock.SUDDEN_DEATH, 0);
+    }
+} // end GameClockTest class
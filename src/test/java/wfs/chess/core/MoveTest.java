@@ -0,0 +1,48 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Tests of the compact 16-bit form of moves, as stored in the
+ * game database and the transposition table.
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class MoveTest {
+    /*
+     * compactRoundTrip checks that expand gives back every legal move from its compact form.
+     */
+    @Test
+    public void compactRoundTrip() {
+        String[] fens = {
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1",
+        };
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (String fen : fens) {
+            Position pos = new Position(fen);
+            int n = MoveGenerator.generate(pos, moves, 0);
+            for (int i = 0; i < n; i++) {
+                assertEquals(Move.toUci(moves[i]), moves[i], Move.expand(pos, Move.toShort(moves[i])));
+            }
+        }
+    }
+
+    /*
+     * expandWrongPiece checks that a compact move from an empty square or a square of the
+     * side not to move is not expanded.
+     */
+    @Test
+    public void expandWrongPiece() {
+        Position pos = new Position();
+        int e3e4 = 20 | (28 << 6);
+        int e7e5 = 52 | (36 << 6);
+        assertEquals(Move.NONE, Move.expand(pos, e3e4));
+        assertEquals(Move.NONE, Move.expand(pos, e7e5));
+        assertEquals(Move.NONE, Move.expand(pos, Move.NONE));
+    }
+} // end MoveTest class
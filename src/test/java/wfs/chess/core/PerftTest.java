@@ -0,0 +1,38 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Runs the perft suite of Perft as part of the build, so a
+ * change to move generation or make/unmake that gets a node
+ * count wrong fails mvn test.
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class PerftTest {
+    /*
+     * standardPositions checks every position of Perft.SUITE at its depth.
+     */
+    @Test
+    public void standardPositions() {
+        Perft perft = new Perft(8);
+        Position pos = new Position();
+        for (String[] test : Perft.SUITE) {
+            pos.setFen(test[1]);
+            assertEquals(test[0], Long.parseLong(test[3]), perft.count(pos, Integer.parseInt(test[2])));
+        }
+    }
+
+    /*
+     * unchanged checks that counting leaves the position as it was.
+     */
+    @Test
+    public void unchanged() {
+        Position pos = new Position(Perft.SUITE[1][1]);
+        new Perft(3).count(pos, 3);
+        assertEquals(Perft.SUITE[1][1], pos.toFen());
+    }
+} // end PerftTest class
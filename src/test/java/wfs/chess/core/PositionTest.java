@@ -0,0 +1,78 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Tests of reading and writing FEN: positions come back the
+ * same, and malformed or impossible positions are rejected.
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class PositionTest {
+    /*
+     * roundTrip checks that toFen gives back the FEN a position was set up from.
+     */
+    @Test
+    public void roundTrip() {
+        String[] fens = {
+            Position.START_FEN,
+            "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 12 40",
+            "r3k2r/8/8/8/8/8/8/R3K2R b Kq - 3 17",
+        };
+        for (String fen : fens) {
+            assertEquals(fen, new Position(fen).toFen());
+        }
+    }
+
+    /*
+     * missingCounters checks that the move counters may be left out.
+     */
+    @Test
+    public void missingCounters() {
+        assertEquals("4k3/8/8/8/8/8/8/4K3 b - - 0 1", new Position("4k3/8/8/8/8/8/8/4K3 b - -").toFen());
+    }
+
+    /*
+     * castlingWithoutRook checks that rights whose King or rook is not home are dropped.
+     */
+    @Test
+    public void castlingWithoutRook() {
+        assertEquals("4k3/8/8/8/8/8/8/4K3 w - - 0 1", new Position("4k3/8/8/8/8/8/8/4K3 w KQkq - 0 1").toFen());
+        assertEquals("r3k3/8/8/8/8/8/8/4K2R w Kq - 0 1", new Position("r3k3/8/8/8/8/8/8/4K2R w KQkq - 0 1").toFen());
+    }
+
+    /*
+     * invalid checks that malformed or impossible positions are rejected.
+     */
+    @Test
+    public void invalid() {
+        String[] fens = {
+            "",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1",            // seven ranks
+            "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",   // nine files
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQ1BNR w kq - 0 1",     // no white King
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1",   // side to move
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkz - 0 1",   // castling
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq zz 0 1",  // en passant
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR b KQkq e3 0 1",  // no pawn pushed
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq 1x 0 1",  // counters
+            "P3k3/8/8/8/8/8/8/4K3 w - - 0 1",                             // pawn on rank 8
+            "QQQQKQQQ/QQQQQQQQ/QQ6/8/8/8/8/4k3 w - - 0 1",                // 17 white pieces
+            "4k3/4R3/8/8/8/8/8/4K3 w - - 0 1",                            // side not to move in check
+        };
+        for (String fen : fens) {
+            try {
+                new Position(fen);
+                fail("accepted " + fen);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+} // end PositionTest class
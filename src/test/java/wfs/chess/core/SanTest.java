@@ -0,0 +1,86 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Tests of reading and writing moves in Standard Algebraic
+ * Notation.
+ *-----------------------------------------------------------*/
+package wfs.chess.core;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class SanTest {
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    /*
+     * parse checks moves of every kind against their UCI form.
+     */
+    @Test
+    public void parse() {
+        Position start = new Position();
+        assertEquals("e2e4", uci(start, "e4"));
+        assertEquals("g1f3", uci(start, "Nf3"));
+        Position kiwipete = new Position(KIWIPETE);
+        assertEquals("e1g1", uci(kiwipete, "O-O"));
+        assertEquals("e1c1", uci(kiwipete, "O-O-O"));
+        assertEquals("e1g1", uci(kiwipete, "0-0"));
+        assertEquals("d5e6", uci(kiwipete, "dxe6"));
+        assertEquals("e5f7", uci(kiwipete, "Nxf7"));
+        assertEquals("f3f6", uci(kiwipete, "Qxf6"));
+        assertEquals("c3b1", uci(kiwipete, "Nb1!?"));
+        Position promotion = new Position("4k3/1P6/8/8/8/8/8/4K3 w - - 0 1");
+        assertEquals("b7b8q", uci(promotion, "b8=Q+"));
+        assertEquals("b7b8n", uci(promotion, "b8N"));
+        Position enPassant = new Position("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1");
+        assertEquals("e5d6", uci(enPassant, "exd6"));
+    }
+
+    /*
+     * disambiguation checks that a move two pieces can make needs its file or rank.
+     */
+    @Test
+    public void disambiguation() {
+        Position pos = new Position("4k3/8/8/8/8/8/4K3/R6R w - - 0 1");
+        assertEquals(Move.NONE, San.parse(pos, "Rd1"));
+        assertEquals("a1d1", uci(pos, "Rad1"));
+        assertEquals("h1d1", uci(pos, "Rhd1"));
+        Position knights = new Position("4k3/8/8/8/8/8/N7/N3K3 w - - 0 1");
+        assertEquals("a1b3", uci(knights, "N1b3"));
+        assertEquals("a2b4", uci(knights, "Nb4"));
+    }
+
+    /*
+     * rejected checks that illegal moves and nonsense are not read as a move.
+     */
+    @Test
+    public void rejected() {
+        Position start = new Position();
+        assertEquals(Move.NONE, San.parse(start, "e5"));
+        assertEquals(Move.NONE, San.parse(start, "O-O"));
+        assertEquals(Move.NONE, San.parse(start, "Ke2"));
+        assertEquals(Move.NONE, San.parse(start, "xyz"));
+        assertEquals(Move.NONE, San.parse(start, ""));
+    }
+
+    /*
+     * roundTrip checks that toSan writes what parse reads, for every legal move.
+     */
+    @Test
+    public void roundTrip() {
+        Position pos = new Position(KIWIPETE);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int n = MoveGenerator.generate(pos, moves, 0);
+        for (int i = 0; i < n; i++) {
+            String san = San.toSan(pos, moves[i]);
+            assertEquals(san, moves[i], San.parse(pos, san));
+        }
+        assertEquals(KIWIPETE, pos.toFen());
+    }
+
+    private static String uci(Position pos, String san) {
+        int move = San.parse(pos, san);
+        return (move == Move.NONE) ? "none" : Move.toUci(move);
+    }
+} // end SanTest class
@@ -0,0 +1,90 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Spot probes of the endgame tables. The KQK and KRK tables
+ * are built into a temporary directory once for the class.
+ *-----------------------------------------------------------*/
+package wfs.chess.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import wfs.chess.core.Move;
+import wfs.chess.core.MoveGenerator;
+import wfs.chess.core.Position;
+
+public class BitbasesTest {
+    @ClassRule
+    public static final TemporaryFolder FOLDER = new TemporaryFolder();
+
+    private static Bitbases tables;
+
+    @BeforeClass
+    public static void build() throws IOException {
+        Bitbase.build(FOLDER.getRoot().toPath(), "KQK", 2);
+        Bitbase.build(FOLDER.getRoot().toPath(), "KRK", 2);
+        tables = new Bitbases(FOLDER.getRoot().toPath());
+    }
+
+    @AfterClass
+    public static void close() throws IOException {
+        tables.close();
+    }
+
+    /*
+     * found checks that both tables were opened.
+     */
+    @Test
+    public void found() {
+        assertEquals(2, tables.size());
+        assertEquals(3, tables.maxPieces());
+    }
+
+    /*
+     * mateInOne checks the result, distance and best move of a mate in one.
+     */
+    @Test
+    public void mateInOne() {
+        Position pos = new Position("k7/8/1K6/8/8/8/8/6Q1 w - - 0 1");
+        assertEquals(Bitbases.WIN, tables.probe(pos));
+        assertEquals(1, tables.distanceToMate(pos));
+        int move = tables.bestMove(pos);
+        pos.makeMove(move);
+        assertTrue(Move.toUci(move), pos.isInCheck(pos.sideToMove()));
+        assertEquals(Move.toUci(move), 0, MoveGenerator.generate(pos, new int[MoveGenerator.MAX_MOVES], 0));
+    }
+
+    /*
+     * results checks won, lost and drawn positions, with either color as the strong side.
+     */
+    @Test
+    public void results() {
+        assertEquals(Bitbases.LOSS, tables.probe(new Position("k7/8/1K6/8/8/8/8/7Q b - - 0 1")));
+        assertEquals(Bitbases.DRAW, tables.probe(new Position("8/8/8/8/8/8/1k6/Q6K b - - 0 1"))); // Kxa1
+        assertEquals(Bitbases.DRAW, tables.probe(new Position("k7/2Q5/1K6/8/8/8/8/8 b - - 0 1"))); // stalemate
+        assertEquals(Bitbases.WIN, tables.probe(new Position("8/8/8/3k4/8/8/8/R3K3 w - - 0 1")));
+        assertEquals(Bitbases.WIN, tables.probe(new Position("r3k3/8/8/8/3K4/8/8/8 b - - 0 1")));
+        Position mated = new Position("7K/5k2/8/8/8/8/8/7q w - - 0 1");
+        assertEquals(Bitbases.LOSS, tables.probe(mated));
+        assertEquals(0, tables.distanceToMate(mated));
+    }
+
+    /*
+     * unknown checks positions the tables do not hold: other material, or castling rights.
+     */
+    @Test
+    public void unknown() {
+        assertEquals(Bitbases.UNKNOWN, tables.probe(new Position("4k3/8/8/8/8/8/4P3/4K3 w - - 0 1")));
+        assertEquals(Bitbases.UNKNOWN, tables.probe(new Position("4k3/8/8/8/8/8/8/R3K3 w Q - 0 1")));
+        assertEquals(Bitbases.UNKNOWN, tables.probe(new Position()));
+        assertEquals(-1, tables.distanceToMate(new Position("4k3/8/8/8/8/8/8/R3K3 w Q - 0 1")));
+        assertEquals(Move.NONE, tables.bestMove(new Position()));
+    }
+} // end BitbasesTest class
@@ -0,0 +1,94 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Tests of Polyglot keys and moves against the reference keys
+ * published with the Polyglot book format.
+ *-----------------------------------------------------------*/
+package wfs.chess.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import wfs.chess.core.Move;
+import wfs.chess.core.MoveGenerator;
+import wfs.chess.core.Position;
+
+public class PolyglotKeyTest {
+    /*
+     * The published positions and their keys, in the order they are played.
+     */
+    private static final String[][] KEYS = {
+        {"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", "463b96181691fc9c"},
+        {"rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", "823c9b50fd114196"},
+        {"rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 2", "0756b94461c50fb0"},
+        {"rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR b KQkq - 0 2", "662fafb965db29d4"},
+        {"rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3", "22a48b5a8e47ff78"},
+        {"rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR b kq - 0 3", "652a607ca3f242c1"},
+        {"rnbq1bnr/ppp1pkpp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR w - - 0 4", "00fdd303c946bdd9"},
+        {"rnbqkbnr/p1pppppp/8/8/PpP4P/8/1P1PPPP1/RNBQKBNR b KQkq c3 0 3", "3c8123ea7b067637"},
+        {"rnbqkbnr/p1pppppp/8/8/P6P/R1p5/1P1PPPP1/1NBQKBNR b Kkq - 0 4", "5c3f9b829b279560"},
+    };
+
+    /*
+     * standard checks that the built-in random numbers are Polyglot's own.
+     */
+    @Test
+    public void standard() {
+        assertTrue(PolyglotKey.isStandard());
+        assertEquals(PolyglotKey.START_KEY, PolyglotKey.of(new Position()));
+    }
+
+    /*
+     * publishedKeys checks the key of every published position.
+     */
+    @Test
+    public void publishedKeys() {
+        for (String[] test : KEYS) {
+            assertEquals(test[0], Long.parseUnsignedLong(test[1], 16), PolyglotKey.of(new Position(test[0])));
+        }
+    }
+
+    /*
+     * playedKeys checks that the keys come out the same when the moves are played.
+     */
+    @Test
+    public void playedKeys() {
+        Position pos = new Position();
+        String[] moves = {"e2e4", "d7d5", "e4e5", "f7f5", "e1e2", "e8f7"};
+        for (int i = 0; i < moves.length; i++) {
+            pos.makeMove(MoveGenerator.parseUci(pos, moves[i]));
+            assertEquals(moves[i], Long.parseUnsignedLong(KEYS[i + 1][1], 16), PolyglotKey.of(pos));
+        }
+    }
+
+    /*
+     * castlingMoves checks that castling is written as the King taking its Rook.
+     */
+    @Test
+    public void castlingMoves() {
+        Position pos = new Position("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        int shortCastle = MoveGenerator.parseUci(pos, "e1g1");
+        int longCastle = MoveGenerator.parseUci(pos, "e1c1");
+        int e1h1 = 7 | (4 << 6);
+        int e1a1 = 0 | (4 << 6);
+        assertEquals(e1h1, PolyglotKey.encode(shortCastle));
+        assertEquals(e1a1, PolyglotKey.encode(longCastle));
+        assertEquals(shortCastle, PolyglotKey.decode(pos, e1h1));
+        assertEquals(longCastle, PolyglotKey.decode(pos, e1a1));
+    }
+
+    /*
+     * promotionMoves checks the promotion piece of a Polyglot move, and that a move the
+     * position does not have is not decoded.
+     */
+    @Test
+    public void promotionMoves() {
+        Position pos = new Position("4k3/1P6/8/8/8/8/8/4K3 w - - 0 1");
+        int b7b8n = MoveGenerator.parseUci(pos, "b7b8n");
+        assertEquals(57 | (49 << 6) | (1 << 12), PolyglotKey.encode(b7b8n));
+        assertEquals(b7b8n, PolyglotKey.decode(pos, PolyglotKey.encode(b7b8n)));
+        assertEquals(Move.NONE, PolyglotKey.decode(pos, 0 | (8 << 6)));
+    }
+} // end PolyglotKeyTest class
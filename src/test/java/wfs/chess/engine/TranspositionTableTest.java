@@ -0,0 +1,99 @@
+/*-----------------------------------------------------------
+ * Author: William Schimitsch
+ * Date: 10/17/2026
+ *
+ * Tests of the transposition table: what is stored comes
+ * back, mate scores are kept relative to the position, and
+ * older searches are replaced first.
+ *-----------------------------------------------------------*/
+package wfs.chess.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+public class TranspositionTableTest {
+    /*
+     * Keys that fall in the same bucket: the bucket is picked by the high 32 bits.
+     */
+    private static long key(int i) {
+        return (5L << 32) | i;
+    }
+
+    /*
+     * storeAndProbe checks every field of an entry, and that an unknown key is a miss.
+     */
+    @Test
+    public void storeAndProbe() {
+        TranspositionTable tt = new TranspositionTable(1);
+        tt.store(key(1), 0x1234, -250, 7, TranspositionTable.LOWER, 3);
+        long data = tt.probe(key(1));
+        assertEquals(0x1234, TranspositionTable.move(data));
+        assertEquals(-250, TranspositionTable.score(data, 3));
+        assertEquals(7, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+        assertEquals(0, tt.probe(key(2)));
+    }
+
+    /*
+     * keepsMove checks that storing again without a move keeps the move of the entry.
+     */
+    @Test
+    public void keepsMove() {
+        TranspositionTable tt = new TranspositionTable(1);
+        tt.store(key(1), 0x1234, 10, 4, TranspositionTable.EXACT, 0);
+        tt.store(key(1), 0, 20, 5, TranspositionTable.UPPER, 0);
+        long data = tt.probe(key(1));
+        assertEquals(0x1234, TranspositionTable.move(data));
+        assertEquals(20, TranspositionTable.score(data, 0));
+    }
+
+    /*
+     * mateScores checks that a mate found at one ply reads as the same mate from the
+     * position at another ply.
+     */
+    @Test
+    public void mateScores() {
+        TranspositionTable tt = new TranspositionTable(1);
+        tt.store(key(1), 0, Search.MATE - 10, 6, TranspositionTable.EXACT, 4); // mate 6 plies below
+        tt.store(key(2), 0, -Search.MATE + 10, 6, TranspositionTable.EXACT, 4);
+        assertEquals(Search.MATE - 12, TranspositionTable.score(tt.probe(key(1)), 6));
+        assertEquals(-Search.MATE + 8, TranspositionTable.score(tt.probe(key(2)), 2));
+    }
+
+    /*
+     * olderSearchReplaced checks that a full bucket gives up an entry of an earlier
+     * search before a shallower entry of the current one.
+     */
+    @Test
+    public void olderSearchReplaced() {
+        TranspositionTable tt = new TranspositionTable(1);
+        for (int i = 1; i <= 3; i++) {
+            tt.store(key(i), 0, 0, 5, TranspositionTable.EXACT, 0);
+        }
+        tt.newSearch();
+        tt.store(key(4), 0, 0, 1, TranspositionTable.EXACT, 0);
+        tt.store(key(5), 0, 0, 2, TranspositionTable.EXACT, 0);
+        assertNotEquals(0, tt.probe(key(4)));
+        assertNotEquals(0, tt.probe(key(5)));
+        assertEquals(0, tt.probe(key(1)));
+    }
+
+    /*
+     * hashfullCountsCurrentSearch checks that hashfull leaves out entries of earlier
+     * searches, and clear empties the table.
+     */
+    @Test
+    public void hashfullCountsCurrentSearch() {
+        TranspositionTable tt = new TranspositionTable(1);
+        for (long k = 0; k < 4000; k++) {
+            tt.store(k << 32, 0, 0, 1, TranspositionTable.EXACT, 0);
+        }
+        assertNotEquals(0, tt.hashfull());
+        tt.newSearch();
+        assertEquals(0, tt.hashfull());
+        tt.clear();
+        assertEquals(0, tt.probe(0));
+    }
+} // end TranspositionTableTest class